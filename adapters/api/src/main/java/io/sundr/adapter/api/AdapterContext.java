@@ -19,6 +19,8 @@ package io.sundr.adapter.api;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import io.sundr.model.AttributeKey;
 import io.sundr.model.AttributeSupport;
@@ -29,6 +31,7 @@ public class AdapterContext extends AttributeSupport implements AdapterContextAw
   protected static AdapterContext INSTANCE;
 
   private final DefinitionRepository definitionRepository;
+  private final ConcurrentMap<AdapterFactory, Adapter> adapters = new ConcurrentHashMap<>();
 
   private AdapterContext(DefinitionRepository definitionRepository) {
     this(definitionRepository, new HashMap<>());
@@ -63,4 +66,15 @@ public class AdapterContext extends AttributeSupport implements AdapterContextAw
   public AdapterContext getAdapterContext() {
     return this;
   }
+
+  /**
+   * Get the {@link Adapter} the specified factory creates for this context.
+   * Adapters are created once per context and factory, and reused after that.
+   *
+   * @param factory the factory
+   * @return the adapter
+   */
+  Adapter getAdapter(AdapterFactory factory) {
+    return adapters.computeIfAbsent(factory, f -> f.create(this));
+  }
 }
@@ -18,82 +18,109 @@
 package io.sundr.adapter.api;
 
 import java.util.Optional;
-import java.util.ServiceLoader;
-import java.util.stream.StreamSupport;
+import java.util.function.Function;
 
+import io.sundr.Metrics;
 import io.sundr.model.Method;
 import io.sundr.model.Property;
 import io.sundr.model.TypeDef;
 import io.sundr.model.TypeRef;
+import io.sundr.utils.Services;
 
 public class Adapters {
 
+  private static final Function<Class<?>, AdapterFactory> TYPE_FACTORIES = factories(AdapterFactory::getTypeAdapterType);
+  private static final Function<Class<?>, AdapterFactory> REFERENCE_FACTORIES = factories(
+      AdapterFactory::getReferenceAdapterType);
+  private static final Function<Class<?>, AdapterFactory> PROPERTY_FACTORIES = factories(
+      AdapterFactory::getPropertyAdapterType);
+  private static final Function<Class<?>, AdapterFactory> METHOD_FACTORIES = factories(AdapterFactory::getMethodAdapterType);
+
+  /**
+   * Index the {@link AdapterFactory} instances by the type of input they can adapt.
+   *
+   * @param adapterType the function that returns the type of input a factory supports for a particular kind of adapter.
+   * @return a function that returns the first factory that supports the type, or null.
+   */
+  private static Function<Class<?>, AdapterFactory> factories(Function<AdapterFactory, Class> adapterType) {
+    return Services.index(AdapterFactory.class,
+        type -> f -> adapterType.apply(f) != null && adapterType.apply(f).isAssignableFrom(type));
+  }
+
   public static <T, R, P, M> TypeDef adaptType(T input, AdapterContextAware ctx) {
     if (input == null) {
       throw new IllegalArgumentException("Adapter.adapt(null, ctx) is not allowed!");
     }
-    return getAdapterForType(input.getClass(), ctx).map(a -> a.adaptType(input))
-        .orElseThrow(() -> new IllegalStateException("No adapter found for type: " + input.getClass()));
+    long start = Metrics.start();
+    try {
+      return getAdapterForType(input.getClass(), ctx).map(a -> a.adaptType(input))
+          .orElseThrow(() -> new IllegalStateException("No adapter found for type: " + input.getClass()));
+    } finally {
+      Metrics.stop("adapt.type", start);
+    }
   }
 
   public static <T, R, P, M> TypeRef adaptReference(R input, AdapterContextAware ctx) {
     if (input == null) {
       throw new IllegalArgumentException("Adapter.adapt(null, ctx) is not allowed!");
     }
-    return getAdapterForReference(input.getClass(), ctx).map(a -> a.adaptReference(input))
-        .orElseThrow(() -> new IllegalStateException("No adapter found for reference: " + input.getClass()));
+    long start = Metrics.start();
+    try {
+      return getAdapterForReference(input.getClass(), ctx).map(a -> a.adaptReference(input))
+          .orElseThrow(() -> new IllegalStateException("No adapter found for reference: " + input.getClass()));
+    } finally {
+      Metrics.stop("adapt.reference", start);
+    }
   }
 
   public static <T, R, P, M> Property adaptProperty(P input, AdapterContextAware ctx) {
     if (input == null) {
       throw new IllegalArgumentException("Adapter.adapt(null, ctx) is not allowed!");
     }
-    return getAdapterForProperty(input.getClass(), ctx).map(a -> a.adaptProperty(input))
-        .orElseThrow(() -> new IllegalStateException("No adapter found for property: " + input.getClass()));
+    long start = Metrics.start();
+    try {
+      return getAdapterForProperty(input.getClass(), ctx).map(a -> a.adaptProperty(input))
+          .orElseThrow(() -> new IllegalStateException("No adapter found for property: " + input.getClass()));
+    } finally {
+      Metrics.stop("adapt.property", start);
+    }
   }
 
   public static <T, R, P, M> Method adaptMethod(M input, AdapterContextAware ctx) {
     if (input == null) {
       throw new IllegalArgumentException("Adapter.adapt(null, ctx) is not allowed!");
     }
-    return getAdapterForMethod(input.getClass(), ctx).map(a -> a.adaptMethod(input))
-        .orElseThrow(() -> new IllegalStateException("No adapter found for method: " + input.getClass()));
+    long start = Metrics.start();
+    try {
+      return getAdapterForMethod(input.getClass(), ctx).map(a -> a.adaptMethod(input))
+          .orElseThrow(() -> new IllegalStateException("No adapter found for method: " + input.getClass()));
+    } finally {
+      Metrics.stop("adapt.method", start);
+    }
   }
 
   @SuppressWarnings("unchecked")
   public static <T, R, P, M> Optional<Adapter<T, R, P, M>> getAdapterForType(Class type, AdapterContextAware ctx) {
-    return StreamSupport.stream(ServiceLoader.load(AdapterFactory.class, Adapter.class.getClassLoader()).spliterator(), false)
-        .filter(f -> f.getTypeAdapterType() != null)
-        .filter(f -> f.getTypeAdapterType().isAssignableFrom(type))
-        .map(f -> (Adapter<T, R, P, M>) f.create(ctx.getAdapterContext()))
-        .findFirst();
+    return Optional.ofNullable(TYPE_FACTORIES.apply(type))
+        .map(f -> (Adapter<T, R, P, M>) ctx.getAdapterContext().getAdapter(f));
   }
 
   @SuppressWarnings("unchecked")
   public static <T, R, P, M> Optional<Adapter<T, R, P, M>> getAdapterForReference(Class type, AdapterContextAware ctx) {
-    return StreamSupport.stream(ServiceLoader.load(AdapterFactory.class, Adapter.class.getClassLoader()).spliterator(), false)
-        .filter(f -> f.getReferenceAdapterType() != null)
-        .filter(f -> f.getReferenceAdapterType().isAssignableFrom(type))
-        .map(f -> (Adapter<T, R, P, M>) f.create(ctx.getAdapterContext()))
-        .findFirst();
+    return Optional.ofNullable(REFERENCE_FACTORIES.apply(type))
+        .map(f -> (Adapter<T, R, P, M>) ctx.getAdapterContext().getAdapter(f));
   }
 
   @SuppressWarnings("unchecked")
   public static <T, R, P, M> Optional<Adapter<T, R, P, M>> getAdapterForProperty(Class type, AdapterContextAware ctx) {
-    return StreamSupport.stream(ServiceLoader.load(AdapterFactory.class, Adapter.class.getClassLoader()).spliterator(), false)
-        .filter(f -> f.getPropertyAdapterType() != null)
-        .filter(f -> f.getPropertyAdapterType().isAssignableFrom(type))
-        .map(f -> (Adapter<T, R, P, M>) f.create(ctx.getAdapterContext()))
-        .findFirst();
+    return Optional.ofNullable(PROPERTY_FACTORIES.apply(type))
+        .map(f -> (Adapter<T, R, P, M>) ctx.getAdapterContext().getAdapter(f));
   }
 
   @SuppressWarnings("unchecked")
   public static <T, R, P, M> Optional<Adapter<T, R, P, M>> getAdapterForMethod(Class type, AdapterContextAware ctx) {
-    return StreamSupport.stream(ServiceLoader.load(AdapterFactory.class, Adapter.class.getClassLoader()).spliterator(), false)
-        .filter(f -> f.getMethodAdapterType() != null)
-        .filter(f -> f.getMethodAdapterType().isAssignableFrom(type))
-        .map(f -> (Adapter<T, R, P, M>) f.create(ctx.getAdapterContext()))
-        .findFirst();
+    return Optional.ofNullable(METHOD_FACTORIES.apply(type))
+        .map(f -> (Adapter<T, R, P, M>) ctx.getAdapterContext().getAdapter(f));
   }
 
   public static WithContext withContext(AdapterContext ctx) {
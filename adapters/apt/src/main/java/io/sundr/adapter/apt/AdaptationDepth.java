@@ -0,0 +1,51 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.adapter.apt;
+
+/**
+ * How deep the types that are referenced by an adapted type, are adapted.
+ */
+public enum AdaptationDepth {
+
+  /**
+   * Referenced types are adapted in full whenever they are referenced again or any information about them is needed,
+   * which in turn registers the types they reference.
+   */
+  FULL,
+
+  /**
+   * Referenced types are only adapted when needed. Queries on the type hierarchy only adapt their header (name, kind,
+   * modifiers, parameters and supertypes), while their members are adapted when their definition is requested.
+   */
+  HEADER;
+
+  /**
+   * Parse the depth from its name, ignoring case.
+   *
+   * @param name the name of the depth.
+   * @return the depth.
+   * @throws IllegalArgumentException if no depth matches the name.
+   */
+  public static AdaptationDepth parse(String name) {
+    for (AdaptationDepth depth : values()) {
+      if (depth.name().equalsIgnoreCase(name.trim())) {
+        return depth;
+      }
+    }
+    throw new IllegalArgumentException("Unknown adaptation depth: " + name + ".");
+  }
+}
@@ -35,23 +35,32 @@ public class AptContext extends AttributeSupport implements AdapterContextAware
 
   private static final AttributeKey<Types> TYPES_KEY = new AttributeKey<>(Types.class);
   private static final AttributeKey<Elements> ELEMENTS_KEY = new AttributeKey<>(Elements.class);
+  private static final AttributeKey<AdaptationDepth> DEPTH_KEY = new AttributeKey<>(AdaptationDepth.class);
   private static AptContext INSTANCE;
 
   private final AdapterContext adapterContext;
   private final Set<TypeElement> references = new HashSet<>();
 
-  private AptContext(Elements elements, Types types, DefinitionRepository repository) {
-    super(createAttributes(elements, types));
+  private AptContext(Elements elements, Types types, DefinitionRepository repository, AdaptationDepth depth) {
+    super(createAttributes(elements, types, depth));
     this.adapterContext = AdapterContext.create(repository, getAttributes());
   }
 
-  private static Map<AttributeKey, Object> createAttributes(Elements elements, Types types) {
+  private static Map<AttributeKey, Object> createAttributes(Elements elements, Types types, AdaptationDepth depth) {
     Map<AttributeKey, Object> attributes = new HashMap<>();
     attributes.put(ELEMENTS_KEY, elements);
     attributes.put(TYPES_KEY, types);
+    attributes.put(DEPTH_KEY, depth);
     return attributes;
   }
 
+  /**
+   * The depth of new contexts that don't specify one, which is the depth of the last context that was created.
+   */
+  private static AdaptationDepth defaultDepth() {
+    return INSTANCE != null ? INSTANCE.getDepth() : AdaptationDepth.HEADER;
+  }
+
   public synchronized static AptContext create(AdapterContext adapterContext) {
     Types types = adapterContext.getAttribute(TYPES_KEY);
     Elements elements = adapterContext.getAttribute(ELEMENTS_KEY);
@@ -70,17 +79,28 @@ public class AptContext extends AttributeSupport implements AdapterContextAware
       }
     }
 
-    INSTANCE = new AptContext(elements, types, adapterContext.getDefinitionRepository());
+    AdaptationDepth depth = adapterContext.getAttribute(DEPTH_KEY);
+    if (depth == null) {
+      depth = defaultDepth();
+    }
+
+    INSTANCE = new AptContext(elements, types, adapterContext.getDefinitionRepository(), depth);
     return INSTANCE;
   }
 
   public synchronized static AptContext create(Elements elements, Types types) {
-    INSTANCE = new AptContext(elements, types, DefinitionRepository.createRepository());
+    INSTANCE = new AptContext(elements, types, DefinitionRepository.createRepository(), defaultDepth());
     return INSTANCE;
   }
 
   public synchronized static AptContext create(Elements elements, Types types, DefinitionRepository repository) {
-    INSTANCE = new AptContext(elements, types, repository);
+    INSTANCE = new AptContext(elements, types, repository, defaultDepth());
+    return INSTANCE;
+  }
+
+  public synchronized static AptContext create(Elements elements, Types types, DefinitionRepository repository,
+      AdaptationDepth depth) {
+    INSTANCE = new AptContext(elements, types, repository, depth);
     return INSTANCE;
   }
 
@@ -103,6 +123,13 @@ public class AptContext extends AttributeSupport implements AdapterContextAware
     return true;
   }
 
+  /**
+   * @return how deep the types referenced by the adapted types are adapted.
+   */
+  public AdaptationDepth getDepth() {
+    return getAttribute(DEPTH_KEY);
+  }
+
   public AdapterContext getAdapterContext() {
     return adapterContext;
   }
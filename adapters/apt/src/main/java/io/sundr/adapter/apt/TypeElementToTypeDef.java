@@ -87,6 +87,73 @@ public class TypeElementToTypeDef implements Function<TypeElement, TypeDef> {
 
   @Override
   public TypeDef apply(TypeElement classElement) {
+    String comments = AptContext.getContext().getElements().getDocComment(classElement);
+    List<String> commentList = Strings.isNullOrEmpty(comments) ? new ArrayList<>()
+        : Arrays.stream(comments.split(NEWLINE_PATTERN)).map(String::trim).filter(s -> !s.isEmpty())
+            .collect(Collectors.toList());
+
+    TypeDef baseType = new TypeDefBuilder(adaptHeader(classElement))
+        .withComments(commentList)
+        .build();
+
+    //We will register the base type first and will replace it with the full blown version later.
+    context.getDefinitionRepository().registerIfAbsent(baseType);
+
+    List<TypeDef> innerTypes = new ArrayList<TypeDef>();
+    for (TypeElement innerElement : ElementFilter.typesIn(classElement.getEnclosedElements())) {
+      TypeDef innerType = context.getDefinitionRepository().register(apply(innerElement));
+      if (innerType == null) {
+        throw new IllegalStateException("Inner type for:" + innerElement + " is null");
+      }
+      innerType = new TypeDefBuilder(innerType).withOuterTypeName(baseType.getFullyQualifiedName()).build();
+      context.getDefinitionRepository().register(innerType);
+      innerTypes.add(innerType);
+    }
+
+    TypeDefBuilder builder = new TypeDefBuilder(baseType).withInnerTypes(innerTypes);
+
+    for (ExecutableElement constructor : ElementFilter.constructorsIn(classElement.getEnclosedElements())) {
+      builder.addToConstructors(methodAdapterFunction.apply(constructor));
+    }
+
+    // Populate Fields
+    for (VariableElement variableElement : ElementFilter.fieldsIn(classElement.getEnclosedElements())) {
+      builder.addToProperties(propertyAdapterFunction.apply(variableElement));
+    }
+
+    Set<ExecutableElement> allMethods = new LinkedHashSet<ExecutableElement>();
+    allMethods.addAll(ElementFilter.methodsIn(classElement.getEnclosedElements()));
+    allMethods.addAll(getInheritedMethods(classElement));
+
+    for (ExecutableElement method : allMethods) {
+      builder.addToMethods(methodAdapterFunction.apply(method));
+    }
+
+    for (AnnotationMirror annotationMirror : classElement.getAnnotationMirrors()) {
+      builder.addToAnnotations(annotationAdapterFunction.apply(annotationMirror));
+    }
+    //Let's register the full blown definition
+    TypeDef result = context.getDefinitionRepository().register(builder.build());
+
+    //Also register other types
+    registerReferences(classElement);
+    return result;
+  }
+
+  /**
+   * Adapts the header of the type, i.e. everything but its members, annotations and comments.
+   * The types referenced by the header are registered, like the ones referenced by a fully adapted type.
+   *
+   * @param classElement the type element.
+   * @return the header of the type.
+   */
+  public TypeDef header(TypeElement classElement) {
+    TypeDef header = adaptHeader(classElement);
+    registerReferences(classElement);
+    return header;
+  }
+
+  private TypeDef adaptHeader(TypeElement classElement) {
     // Check SuperClass
     Kind kind = Kind.CLASS;
 
@@ -122,11 +189,6 @@ public class TypeElementToTypeDef implements Function<TypeElement, TypeDef> {
       kind = Kind.ENUM;
     }
 
-    String comments = AptContext.getContext().getElements().getDocComment(classElement);
-    List<String> commentList = Strings.isNullOrEmpty(comments) ? new ArrayList<>()
-        : Arrays.stream(comments.split(NEWLINE_PATTERN)).map(String::trim).filter(s -> !s.isEmpty())
-            .collect(Collectors.toList());
-
     for (TypeMirror interfaceTypeMirrror : classElement.getInterfaces()) {
       TypeRef interfaceType = referenceAdapterFunction.apply(interfaceTypeMirrror);
       if (interfaceType instanceof ClassRef) {
@@ -141,8 +203,8 @@ public class TypeElementToTypeDef implements Function<TypeElement, TypeDef> {
       genericTypes.add(genericType);
     }
 
-    TypeDef baseType = new TypeDefBuilder()
-        .withComments(commentList).withKind(kind)
+    return new TypeDefBuilder()
+        .withKind(kind)
         .withModifiers(Types.modifiersToInt(classElement.getModifiers()))
         .withPackageName(getPackageName(classElement))
         .withName(getClassName(classElement))
@@ -154,64 +216,30 @@ public class TypeElementToTypeDef implements Function<TypeElement, TypeDef> {
                 ? classElement.getEnclosingElement().toString()
                 : null)
         .build();
+  }
 
-    //We will register the base type first and will replace it with the full blown version later.
-    context.getDefinitionRepository().registerIfAbsent(baseType);
-
-    List<TypeDef> innerTypes = new ArrayList<TypeDef>();
-    for (TypeElement innerElement : ElementFilter.typesIn(classElement.getEnclosedElements())) {
-      TypeDef innerType = context.getDefinitionRepository().register(apply(innerElement));
-      if (innerType == null) {
-        throw new IllegalStateException("Inner type for:" + innerElement + " is null");
-      }
-      innerType = new TypeDefBuilder(innerType).withOuterTypeName(baseType.getFullyQualifiedName()).build();
-      context.getDefinitionRepository().register(innerType);
-      innerTypes.add(innerType);
-    }
-
-    TypeDefBuilder builder = new TypeDefBuilder(baseType).withInnerTypes(innerTypes);
-
-    for (ExecutableElement constructor : ElementFilter.constructorsIn(classElement.getEnclosedElements())) {
-      builder.addToConstructors(methodAdapterFunction.apply(constructor));
-    }
-
-    // Populate Fields
-    for (VariableElement variableElement : ElementFilter.fieldsIn(classElement.getEnclosedElements())) {
-      builder.addToProperties(propertyAdapterFunction.apply(variableElement));
-    }
-
-    Set<ExecutableElement> allMethods = new LinkedHashSet<ExecutableElement>();
-    allMethods.addAll(ElementFilter.methodsIn(classElement.getEnclosedElements()));
-    allMethods.addAll(getInheritedMethods(classElement));
-
-    for (ExecutableElement method : allMethods) {
-      builder.addToMethods(methodAdapterFunction.apply(method));
-    }
-
-    for (AnnotationMirror annotationMirror : classElement.getAnnotationMirrors()) {
-      builder.addToAnnotations(annotationAdapterFunction.apply(annotationMirror));
-    }
-    //Let's register the full blown definition
-    TypeDef result = context.getDefinitionRepository().register(builder.build());
-
-    //Also register other types
-    if (context.isDeep()) {
-      Set<TypeElement> references = new HashSet<>(context.getReferences());
-      references.stream()
-          .filter(t -> !t.equals(classElement))
-          .filter(t -> !t.toString().startsWith("sun.") && !t.toString().startsWith("com.sun."))
-          .forEach(t -> {
-            String fqcn = t.toString();
-            TypeDef existing = context.getDefinitionRepository().getDefinition(fqcn);
-            if (existing == null) {
-              context.getDefinitionRepository().registerIfAbsent(fqcn, () -> apply(t));
-            }
-            context.getReferences().remove(t);
-          });
-
+  private void registerReferences(TypeElement classElement) {
+    if (!context.isDeep()) {
+      //The adapter is reused for the whole context, so don't let references pile up.
+      context.getReferences().clear();
+      return;
     }
 
-    return result;
+    boolean headerOnly = context.getDepth() == AdaptationDepth.HEADER;
+    Set<TypeElement> references = new HashSet<>(context.getReferences());
+    references.stream()
+        .filter(t -> !t.equals(classElement))
+        .filter(t -> !t.toString().startsWith("sun.") && !t.toString().startsWith("com.sun."))
+        .forEach(t -> {
+          String fqcn = t.toString();
+          if (headerOnly) {
+            //Don't resolve types that are already registered, they are adapted when they are needed.
+            context.getDefinitionRepository().registerIfAbsent(fqcn, () -> header(t), () -> apply(t));
+          } else if (context.getDefinitionRepository().getDefinition(fqcn) == null) {
+            context.getDefinitionRepository().registerIfAbsent(fqcn, () -> apply(t));
+          }
+          context.getReferences().remove(t);
+        });
   }
 
   public Set<ExecutableElement> getInheritedMethods(TypeElement typeElement) {
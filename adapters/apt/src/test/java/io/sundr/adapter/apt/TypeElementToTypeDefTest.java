@@ -0,0 +1,79 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.adapter.apt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.google.testing.compile.CompilationRule;
+
+import io.sundr.adapter.api.Adapters;
+import io.sundr.model.TypeDef;
+import io.sundr.model.repo.DefinitionRepository;
+import io.sundr.model.utils.TypeHierarchy;
+
+public class TypeElementToTypeDefTest {
+
+  public @Rule CompilationRule rule = new CompilationRule();
+
+  private Elements elements;
+  private Types types;
+
+  @Before
+  public void setup() {
+    elements = rule.getElements();
+    types = rule.getTypes();
+  }
+
+  @Test
+  public void shouldOnlyAdaptHeadersOfReferencedTypes() {
+    DefinitionRepository repository = DefinitionRepository.createRepository();
+    AptContext context = AptContext.create(elements, types, repository, AdaptationDepth.HEADER);
+    TypeDef list = Adapters.adaptType(elements.getTypeElement(ArrayList.class.getName()), context);
+
+    assertTrue(TypeHierarchy.of(repository).isAssignable(repository.getHeader(Collection.class.getName()), list));
+    TypeDef header = repository.getHeader(AbstractCollection.class.getName());
+    assertEquals(Collection.class.getName(), header.getImplementsList().get(0).getFullyQualifiedName());
+    assertTrue(header.getMethods().isEmpty());
+
+    TypeDef definition = repository.getDefinition(AbstractCollection.class.getName());
+    assertFalse(definition.getMethods().isEmpty());
+    assertSame(definition, repository.getHeader(AbstractCollection.class.getName()));
+  }
+
+  @Test
+  public void shouldFullyAdaptReferencedTypes() {
+    DefinitionRepository repository = DefinitionRepository.createRepository();
+    AptContext context = AptContext.create(elements, types, repository, AdaptationDepth.FULL);
+    Adapters.adaptType(elements.getTypeElement(ArrayList.class.getName()), context);
+
+    assertFalse(repository.getHeader(AbstractCollection.class.getName()).getMethods().isEmpty());
+  }
+}
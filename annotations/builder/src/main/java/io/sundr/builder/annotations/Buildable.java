@@ -35,6 +35,11 @@ public @interface Buildable {
 
   boolean lazyMapInitEnabled() default true;
 
+  /**
+   * Memoize the hash code of the generated pojos, which is only done for immutable ones.
+   */
+  boolean cacheHashCode() default false;
+
   boolean generateBuilderPackage() default false;
 
   String builderPackage() default Constants.DEFAULT_BUILDER_PACKAGE;
@@ -18,38 +18,83 @@ package io.sundr.builder.internal;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import io.sundr.model.ClassRef;
 import io.sundr.model.TypeDef;
 import io.sundr.model.TypeRef;
 import io.sundr.model.functions.GetDefinition;
+import io.sundr.model.repo.DefinitionRepository;
 
 public class BuildableRepository {
 
   private final Map<String, TypeDef> buildables = new HashMap<String, TypeDef>();
 
-  public TypeDef register(TypeDef buildable) {
+  /**
+   * The names of the buildables that extend or implement each type, directly or indirectly.
+   * Buildables are added to the index lazily, the first time descendants are queried after they are registered.
+   * They are indexed again, when one of their supertypes is registered in the {@link DefinitionRepository}, as the
+   * supertypes of a definition that was registered later (or again) were not known when the buildable was indexed.
+   */
+  private final Map<String, Set<String>> descendants = new HashMap<String, Set<String>>();
+  private final Map<String, Set<String>> supertypes = new HashMap<String, Set<String>>();
+  private final Set<String> unindexed = new LinkedHashSet<String>();
+
+  /**
+   * The names of the definitions registered since the last time the index was updated.
+   * The listener only queues the names, as it's notified while the definition repository is locked.
+   */
+  private final Queue<String> registered = new ConcurrentLinkedQueue<String>();
+  private volatile DefinitionRepository repository;
+  private Listening listening;
+
+  public synchronized TypeDef register(TypeDef buildable) {
     if (buildable != null) {
       buildables.put(buildable.getFullyQualifiedName(), buildable);
+      unindexed.add(buildable.getFullyQualifiedName());
     }
     return buildable;
   }
 
-  public Set<TypeDef> getBuildables() {
+  public synchronized Set<TypeDef> getBuildables() {
     return Collections.unmodifiableSet(new LinkedHashSet<TypeDef>(buildables.values()));
   }
 
-  public TypeDef getBuildable(TypeRef type) {
+  /**
+   * Get the buildables that extend or implement the specified type, directly or indirectly.
+   * The buildables are returned in the same order as {@link #getBuildables()}.
+   *
+   * @param type the type.
+   * @return the buildable descendants of the type, excluding the type itself.
+   */
+  public synchronized Set<TypeDef> getBuildableDescendants(TypeDef type) {
+    index();
+    Set<String> names = descendants.get(type.getFullyQualifiedName());
+    if (names == null || names.isEmpty()) {
+      return Collections.emptySet();
+    }
+    Set<TypeDef> result = new LinkedHashSet<TypeDef>();
+    for (TypeDef buildable : buildables.values()) {
+      if (names.contains(buildable.getFullyQualifiedName())) {
+        result.add(buildable);
+      }
+    }
+    return Collections.unmodifiableSet(result);
+  }
+
+  public synchronized TypeDef getBuildable(TypeRef type) {
     if (type instanceof ClassRef) {
       return buildables.get(GetDefinition.of((ClassRef) type).getFullyQualifiedName());
     }
     return null;
   }
 
-  public boolean isBuildable(TypeDef type) {
+  public synchronized boolean isBuildable(TypeDef type) {
     return type != null && buildables.containsKey(type.getFullyQualifiedName());
   }
 
@@ -60,7 +105,74 @@ public class BuildableRepository {
     return false;
   }
 
-  public void clear() {
+  public synchronized void clear() {
     buildables.clear();
+    descendants.clear();
+    supertypes.clear();
+    unindexed.clear();
+    registered.clear();
+  }
+
+  private void index() {
+    listen();
+    for (String name = registered.poll(); name != null; name = registered.poll()) {
+      Set<String> affected = descendants.get(name);
+      if (affected != null) {
+        unindexed.addAll(affected);
+      }
+    }
+    for (String name : unindexed) {
+      Set<String> previous = supertypes.remove(name);
+      if (previous != null) {
+        previous.forEach(s -> descendants.get(s).remove(name));
+      }
+      Set<String> all = new HashSet<String>();
+      collectSupertypes(buildables.get(name), all);
+      all.remove(name);
+      all.forEach(s -> descendants.computeIfAbsent(s, k -> new HashSet<String>()).add(name));
+      supertypes.put(name, all);
+    }
+    unindexed.clear();
+  }
+
+  /**
+   * Listen to the registrations of the current definition repository.
+   * Listeners are dropped when a repository is cleared, so a marker service tells if the listener needs to be added again.
+   * When the repository changes, all buildables are indexed again.
+   */
+  private void listen() {
+    DefinitionRepository current = DefinitionRepository.getRepository();
+    Listening marker = current.getService(Listening.class, r -> new Listening());
+    if (current == repository && marker == listening) {
+      return;
+    }
+    repository = current;
+    listening = marker;
+    current.addListener(name -> {
+      if (repository == current) {
+        registered.add(name);
+      }
+    });
+    registered.clear();
+    unindexed.addAll(buildables.keySet());
+  }
+
+  private static void collectSupertypes(TypeDef type, Set<String> result) {
+    if (type == null) {
+      return;
+    }
+    for (ClassRef ref : type.getExtendsList()) {
+      if (result.add(ref.getFullyQualifiedName())) {
+        collectSupertypes(GetDefinition.of(ref), result);
+      }
+    }
+    for (ClassRef ref : type.getImplementsList()) {
+      if (result.add(ref.getFullyQualifiedName())) {
+        collectSupertypes(GetDefinition.of(ref), result);
+      }
+    }
+  }
+
+  private static final class Listening {
   }
 }
@@ -29,12 +29,19 @@ import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.TypeVariable;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashSet;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.ServiceLoader;
 import java.util.Spliterator;
-import java.util.function.Consumer;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.lang.model.element.Modifier;
@@ -76,6 +83,7 @@ public class BuilderContext {
   private final TypeDef editableInterface;
   private final TypeDef visitableInterface;
   private final TypeDef visitableBuilderInterface;
+  private final TypeDef builderRegistryInterface;
   private final TypeDef visitableMapClass;
   private final TypeDef inlineableBase;
   private final TypeDef validationUtils;
@@ -86,6 +94,7 @@ public class BuilderContext {
   private final String builderPackage;
   private final Inline[] inlineables;
   private final BuildableRepository buildableRepository;
+  private final BuilderRegistryRepository builderRegistryRepository;
 
   public BuilderContext(Elements elements, Types types, Boolean generateBuilderPackage, Boolean validationEnabled,
       String builderPackage, Inline... inlineables) {
@@ -98,6 +107,7 @@ public class BuilderContext {
     this.inlineables = inlineables;
 
     buildableRepository = new BuildableRepository();
+    builderRegistryRepository = new BuilderRegistryRepository();
 
     TypeParamDef T = new TypeParamDefBuilder()
         .withName("T")
@@ -115,12 +125,12 @@ public class BuilderContext {
         .withName("P")
         .build();
 
-    TypeDef consumerInterface = new TypeDefBuilder(TypeDef.forName(Consumer.class.getName()))
+    TypeDef functionalInterfaceType = TypeDef.forName(FunctionalInterface.class.getName());
+    TypeDef deprecatedType = TypeDef.forName(Deprecated.class.getName());
+    TypeDef classValueType = new TypeDefBuilder(TypeDef.forName(ClassValue.class.getName()))
         .withParameters(T)
         .build();
 
-    TypeDef functionalInterfaceType = TypeDef.forName(FunctionalInterface.class.getName());
-
     visitorInterface = new TypeDefBuilder()
         .withModifiers(modifiersToInt(Modifier.PUBLIC))
         .addNewAnnotation()
@@ -138,6 +148,14 @@ public class BuilderContext {
         .endArgument()
         .withReturnType(new VoidRef())
         .endMethod()
+        .addNewMethod()
+        .withName("isThreadSafe")
+        .withDefaultMethod(true)
+        .withReturnType(io.sundr.model.utils.Types.PRIMITIVE_BOOLEAN_REF)
+        .withNewBlock()
+        .addNewStringStatementStatement("return false;")
+        .endBlock()
+        .endMethod()
         .accept(new ReplacePackage("io.sundr.builder", builderPackage))
         .build();
 
@@ -162,16 +180,25 @@ public class BuilderContext {
         .withParameters(V)
         .withImplementsList(visitorInterface.toReference(V.toReference()))
 
+        .addNewProperty()
+        .withModifiers(modifiersToInt(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL))
+        .withTypeRef(classValueType.toReference(Collections.LIST.toReference(CLASS.toReference(new WildcardRef()))))
+        .withName("TYPE_ARGUMENTS")
+        .addToAttributes(Attributeable.INIT,
+            "new ClassValue<List<Class<?>>>() {@Override protected List<Class<?>> computeValue(Class<?> type) {return getTypeArguments(TypedVisitor.class, (Class<? extends TypedVisitor>) type);}}")
+        .endProperty()
+
         .addNewMethod()
         .withModifiers(modifiersToInt(Modifier.PUBLIC))
         .withName("getType")
         .withReturnType(CLASS.toReference(V.toReference()))
         .withNewBlock()
-        .addNewStringStatementStatement("return (Class<V>) getTypeArguments(TypedVisitor.class, getClass()).get(0);")
+        .addNewStringStatementStatement("return (Class<V>) TYPE_ARGUMENTS.get(getClass()).get(0);")
         .endBlock()
         .endMethod()
 
         .addNewMethod()
+        .withModifiers(modifiersToInt(Modifier.STATIC))
         .withName("getClass")
         .withReturnType(CLASS.toReference(new WildcardRef()))
         .addNewArgument()
@@ -185,6 +212,7 @@ public class BuilderContext {
         .endMethod()
 
         .addNewMethod()
+        .withModifiers(modifiersToInt(Modifier.STATIC))
         .withParameters(T)
         .withName("getTypeArguments")
         .withReturnType(Collections.LIST.toReference(CLASS.toReference()))
@@ -258,17 +286,29 @@ public class BuilderContext {
         .withExtendsList(typedVisitorInterface.toReference(V.toReference()))
 
         .addNewProperty()
+        .withModifiers(modifiersToInt(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL))
+        .withTypeRef(classValueType.toReference(CLASS.toReference(new WildcardRef())))
+        .withName("PARENT_TYPES")
+        .addToAttributes(Attributeable.INIT,
+            "new ClassValue<Class<?>>() {@Override protected Class<?> computeValue(Class<?> type) {return getTypeArguments(PathAwareTypedVisitor.class, (Class<? extends PathAwareTypedVisitor>) type).get(1);}}")
+        .endProperty()
+
+        .addNewProperty()
+        .withModifiers(modifiersToInt(Modifier.PRIVATE, Modifier.FINAL))
         .withName("path")
-        .withTypeRef(Collections.LIST.toReference(TypeDef.OBJECT_REF))
+        .withTypeRef(new ClassRefBuilder().withNewFullyQualifiedName(ThreadLocal.class.getName())
+            .withArguments(Collections.LIST.toReference(TypeDef.OBJECT_REF)).build())
         .endProperty()
 
         .addNewProperty()
+        .withModifiers(modifiersToInt(Modifier.PRIVATE, Modifier.FINAL))
         .withName("delegate")
         .withTypeRef(new ClassRefBuilder().withNewFullyQualifiedName("io.sundr.builder.PathAwareTypedVisitor")
             .withArguments(V.toReference(), P.toReference()).build())
         .endProperty()
 
         .addNewProperty()
+        .withModifiers(modifiersToInt(Modifier.PRIVATE, Modifier.FINAL))
         .withName("parentType")
         .withTypeRef(CLASS.toReference(P.toReference()))
         .endProperty()
@@ -279,14 +319,17 @@ public class BuilderContext {
         .withName("path")
         .endArgument()
         .withNewBlock()
-        .addNewStringStatementStatement("this.path = path;")
+        .addNewStringStatementStatement("this.path = newPath(path);")
         .addNewStringStatementStatement("this.delegate = this;")
         .addNewStringStatementStatement(
-            "this.parentType = (Class<P>) getTypeArguments(PathAwareTypedVisitor.class, getClass()).get(1);")
+            "this.parentType = (Class<P>) PARENT_TYPES.get(getClass());")
         .endBlock()
         .endConstructor()
 
         .addNewConstructor()
+        .addNewAnnotation()
+        .withClassRef(deprecatedType.toInternalReference())
+        .endAnnotation()
         .addNewArgument()
         .withTypeRef(Collections.LIST.toReference(TypeDef.OBJECT_REF))
         .withName("path")
@@ -297,28 +340,33 @@ public class BuilderContext {
             .withArguments(V.toReference(), P.toReference()).build())
         .endArgument()
         .withNewBlock()
-        .addNewStringStatementStatement("this.path = path;")
-        .addNewStringStatementStatement("this.delegate = this;")
+        .addNewStringStatementStatement("this.path = newPath(path);")
+        .addNewStringStatementStatement("this.delegate = delegate;")
         .addNewStringStatementStatement(
-            "this.parentType = (Class<P>) getTypeArguments(PathAwareTypedVisitor.class, delegate.getClass()).get(1);")
+            "this.parentType = (Class<P>) PARENT_TYPES.get(delegate.getClass());")
         .endBlock()
         .endConstructor()
 
         .addNewMethod()
-        .withModifiers(modifiersToInt(Modifier.PUBLIC))
-        .withName("visit")
+        .withModifiers(modifiersToInt(Modifier.PRIVATE, Modifier.STATIC))
+        .withName("newPath")
+        .withReturnType(new ClassRefBuilder().withNewFullyQualifiedName(ThreadLocal.class.getName())
+            .withArguments(Collections.LIST.toReference(TypeDef.OBJECT_REF)).build())
         .addNewArgument()
-        .withName("element")
-        .withTypeRef(V.toReference())
+        .withTypeRef(Collections.LIST.toReference(TypeDef.OBJECT_REF))
+        .withName("path")
         .endArgument()
-        .withReturnType(new VoidRef())
         .withNewBlock()
-        .addNewStringStatementStatement("delegate.path = path;")
-        .addNewStringStatementStatement("delegate.visit(element);")
+        .addNewStringStatementStatement("final List<Object> initial = new ArrayList<Object>(path);")
+        .addNewStringStatementStatement("return ThreadLocal.withInitial(() -> new ArrayList<Object>(initial));")
         .endBlock()
         .endMethod()
 
         .addNewMethod()
+        .addNewAnnotation()
+        .withClassRef(deprecatedType.toInternalReference())
+        .endAnnotation()
+        .withModifiers(modifiersToInt(Modifier.PUBLIC))
         .withName("next")
         .addNewArgument()
         .withName("item")
@@ -327,26 +375,81 @@ public class BuilderContext {
         .withReturnType(new ClassRefBuilder().withNewFullyQualifiedName("io.sundr.builder.PathAwareTypedVisitor")
             .withArguments(V.toReference(), P.toReference()).build())
         .withNewBlock()
-        .addNewStringStatementStatement("List<Object> path = new ArrayList<Object>(this.path);")
+        .addNewStringStatementStatement("List<Object> path = new ArrayList<Object>(this.path.get());")
         .addNewStringStatementStatement("path.add(item);")
         .addNewStringStatementStatement("return new PathAwareTypedVisitor<V, P>(path, this);")
         .endBlock()
         .endMethod()
 
+        .addNewMethod()
+        .withModifiers(modifiersToInt(Modifier.PUBLIC))
+        .withName("visit")
+        .addNewArgument()
+        .withName("element")
+        .withTypeRef(V.toReference())
+        .endArgument()
+        .withReturnType(new VoidRef())
+        .withNewBlock()
+        .addNewStringStatementStatement("if (delegate == this) { return; }")
+        .addNewStringStatementStatement("List<Object> previous = delegate.path.get();")
+        .addNewStringStatementStatement("delegate.path.set(path.get());")
+        .addNewStringStatementStatement("try { delegate.visit(element); } finally { delegate.path.set(previous); }")
+        .endBlock()
+        .endMethod()
+
+        .addNewMethod()
+        .withName("push")
+        .addNewArgument()
+        .withName("item")
+        .withTypeRef(TypeDef.OBJECT_REF)
+        .endArgument()
+        .withReturnType(new VoidRef())
+        .withNewBlock()
+        .addNewStringStatementStatement("path.get().add(item);")
+        .endBlock()
+        .endMethod()
+
+        .addNewMethod()
+        .withName("pop")
+        .withReturnType(new VoidRef())
+        .withNewBlock()
+        .addNewStringStatementStatement("List<Object> path = this.path.get();")
+        .addNewStringStatementStatement("path.remove(path.size() - 1);")
+        .endBlock()
+        .endMethod()
+
+        .addNewMethod()
+        .withModifiers(modifiersToInt(Modifier.PUBLIC))
+        .withName("getPath")
+        .withReturnType(Collections.LIST.toReference(TypeDef.OBJECT_REF))
+        .withNewBlock()
+        .addNewStringStatementStatement("return Collections.unmodifiableList(new ArrayList<Object>(path.get()));")
+        .endBlock()
+        .endMethod()
+
         .addNewMethod()
         .withName("getParent")
         .withReturnType(P.toReference())
         .withNewBlock()
+        .addNewStringStatementStatement("List<Object> path = this.path.get();")
         .addNewStringStatementStatement("return path.size() - 2 >= 0 ? (P) path.get(path.size() - 2) : null;")
         .endBlock()
         .endMethod()
 
+        .addNewMethod()
+        .withModifiers(modifiersToInt(Modifier.PUBLIC))
+        .withName("getType")
+        .withReturnType(CLASS.toReference(V.toReference()))
+        .withNewBlock()
+        .addNewStringStatementStatement("return super.getType() != null ? super.getType() : delegate.getType();")
+        .endBlock()
+        .endMethod()
+
         .addNewMethod()
         .withName("getParentType")
         .withReturnType(CLASS.toReference(P.toReference()))
         .withNewBlock()
-        .addNewStringStatementStatement(
-            "return parentType != null ? parentType : delegate.getParentType();")
+        .addNewStringStatementStatement("return parentType != null ? parentType : delegate.getParentType();")
         .endBlock()
         .endMethod()
 
@@ -355,10 +458,12 @@ public class BuilderContext {
         .withName("getActualParentType")
         .withReturnType(CLASS.toReference())
         .withNewBlock()
+        .addNewStringStatementStatement("List<Object> path = this.path.get();")
         .addNewStringStatementStatement("return path.size() - 2 >= 0 ? path.get(path.size() - 2).getClass() : Void.class;")
         .endBlock()
         .endMethod()
-        .addToAttributes(ALSO_IMPORT, new LinkedHashSet<>(Arrays.asList(Collections.ARRAY_LIST.toReference())))
+        .addToAttributes(ALSO_IMPORT, new LinkedHashSet<>(Arrays.asList(Collections.ARRAY_LIST.toReference(),
+            ClassRef.forName(java.util.Collections.class.getName()))))
         .accept(new ReplacePackage("io.sundr.builder", builderPackage))
         .build();
 
@@ -382,6 +487,20 @@ public class BuilderContext {
         .withVarArgPreferred(true)
         .endMethod()
         .addNewMethod()
+        .withName("acceptParallel")
+        .withDefaultMethod(true)
+        .withReturnType(T.toReference())
+        .addNewArgument()
+        .withName("visitors")
+        .withNewClassRefType().withNewFullyQualifiedName(visitorInterface.getFullyQualifiedName()).withDimensions(1)
+        .endClassRefType()
+        .endArgument()
+        .withVarArgPreferred(true)
+        .withNewBlock()
+        .addNewStringStatementStatement("return accept(visitors);")
+        .endBlock()
+        .endMethod()
+        .addNewMethod()
         .withName("accept")
         .withParameters(V)
         .withDefaultMethod(true)
@@ -396,7 +515,7 @@ public class BuilderContext {
         .endArgument()
         .withNewBlock()
         .withStatements(new StringStatement(
-            "return accept(new TypedVisitor<V>() {@Override public Class<V> getType() {return type;} @Override public void visit(V element) {visitor.visit(element);}});"))
+            "return accept(new TypedVisitor<V>() {@Override public Class<V> getType() {return type;} @Override public void visit(V element) {visitor.visit(element);} @Override public boolean isThreadSafe() {return visitor.isThreadSafe();}});"))
         .endBlock()
         .endMethod()
         .accept(new ReplacePackage("io.sundr.builder", builderPackage))
@@ -415,6 +534,26 @@ public class BuilderContext {
         .accept(new ReplacePackage("io.sundr.builder", builderPackage))
         .build();
 
+    ClassRef builderFactoryRef = new ClassRefBuilder().withFullyQualifiedName(Function.class.getName())
+        .withArguments(TypeDef.OBJECT_REF, visitableBuilderInterface.toReference(new WildcardRef(), new WildcardRef()))
+        .build();
+
+    builderRegistryInterface = new TypeDefBuilder()
+        .withModifiers(modifiersToInt(Modifier.PUBLIC))
+        .withKind(Kind.INTERFACE)
+        .withPackageName("io.sundr.builder")
+        .withName("BuilderRegistry")
+        .addNewMethod()
+        .withName("getBuilderFactory")
+        .withReturnType(builderFactoryRef)
+        .addNewArgument()
+        .withTypeRef(CLASS.toReference(new WildcardRef()))
+        .withName("type")
+        .endArgument()
+        .endMethod()
+        .accept(new ReplacePackage("io.sundr.builder", builderPackage))
+        .build();
+
     fluentInterface = new TypeDefBuilder()
         .withModifiers(modifiersToInt(Modifier.PUBLIC))
         .withKind(Kind.INTERFACE)
@@ -479,6 +618,14 @@ public class BuilderContext {
             Collections.LIST.toReference(visitableInterface.toReference())))
         .withImplementsList(Collections.ITERABLE.toReference(visitableInterface.toReference()))
 
+        .addNewProperty()
+        .withModifiers(modifiersToInt(Modifier.PRIVATE, Modifier.TRANSIENT))
+        .withTypeRef(new ClassRefBuilder(Collections.LIST.toReference(visitableInterface.toReference())).withDimensions(1)
+            .build())
+        .withName("lists")
+        .addToAttributes(Attributeable.INIT, "new List[0]")
+        .endProperty()
+
         .addNewMethod()
         .withModifiers(modifiersToInt(Modifier.PUBLIC))
         .withName("get")
@@ -488,8 +635,21 @@ public class BuilderContext {
         .withName("key")
         .endArgument()
         .withNewBlock()
-        .addNewStringStatementStatement("if (!containsKey(key)) {put(String.valueOf(key), new ArrayList());}")
-        .addNewStringStatementStatement("return super.get(key);")
+        .addNewStringStatementStatement("List<Visitable<?>> list = super.get(key);")
+        .addNewStringStatementStatement("if (list != null) {return list;}")
+        .addNewStringStatementStatement("final String property = String.valueOf(key);")
+        .addNewStringStatementStatement("return new AbstractList<Visitable<?>>() {" + "\n" +
+            "  private List<Visitable<?>> existing() {List<Visitable<?>> l = VisitableMap.super.get(property); return l != null ? l : Collections.<Visitable<?>>emptyList();}"
+            + "\n" +
+            "  private List<Visitable<?>> create() {List<Visitable<?>> l = VisitableMap.super.get(property); if (l == null) {l = new ArrayList<>(); put(property, l);} return l;}"
+            + "\n" +
+            "  @Override public Visitable<?> get(int index) {return existing().get(index);}" + "\n" +
+            "  @Override public int size() {return existing().size();}" + "\n" +
+            "  @Override public Visitable<?> set(int index, Visitable<?> element) {return existing().set(index, element);}"
+            + "\n" +
+            "  @Override public void add(int index, Visitable<?> element) {create().add(index, element);}" + "\n" +
+            "  @Override public Visitable<?> remove(int index) {return existing().remove(index);}" + "\n" +
+            "};")
         .endBlock()
         .endMethod()
 
@@ -498,7 +658,9 @@ public class BuilderContext {
         .withName("aggregate")
         .withReturnType(Collections.LIST.toReference(visitableInterface.toReference()))
         .withNewBlock()
-        .addNewStringStatementStatement("return values().stream().flatMap(l -> l.stream()).collect(Collectors.toList());")
+        .addNewStringStatementStatement("List<Visitable<?>> result = new ArrayList<>();")
+        .addNewStringStatementStatement("for (List<Visitable<?>> list : lists()) {result.addAll(list);}")
+        .addNewStringStatementStatement("return result;")
         .endBlock()
         .endMethod()
 
@@ -507,36 +669,99 @@ public class BuilderContext {
         .withName("iterator")
         .withReturnType(Collections.ITERATOR.toReference(visitableInterface.toReference()))
         .withNewBlock()
-        .addNewStringStatementStatement("return aggregate().iterator();")
+        .addNewStringStatementStatement("final List<Visitable<?>>[] lists = lists();")
+        .addNewStringStatementStatement("return new Iterator<Visitable<?>>() {" + "\n" +
+            "  private int list = -1;" + "\n" +
+            "  private int index;" + "\n" +
+            "  private int end;" + "\n" +
+            "  private Visitable<?> last;" + "\n" +
+            "  private boolean visiting;" + "\n" +
+            "  private int sizeBeforeVisit;" + "\n" +
+            "  @Override public boolean hasNext() {" + "\n" +
+            "    if (visiting) {" + "\n" +
+            "      List<Visitable<?>> current = lists[list];" + "\n" +
+            "      int removed = sizeBeforeVisit - current.size();" + "\n" +
+            "      if (removed > 0) {end -= removed;}" + "\n" +
+            "      if (removed <= 0 || (index < current.size() && current.get(index) == last)) {index++;}" + "\n" +
+            "      last = null;" + "\n" +
+            "      visiting = false;" + "\n" +
+            "    }" + "\n" +
+            "    while (list < 0 || index >= Math.min(end, lists[list].size())) {" + "\n" +
+            "      if (++list >= lists.length) {list = lists.length - 1; end = 0; return false;}" + "\n" +
+            "      index = 0;" + "\n" +
+            "      end = lists[list].size();" + "\n" +
+            "    }" + "\n" +
+            "    return true;" + "\n" +
+            "  }" + "\n" +
+            "  @Override public Visitable<?> next() {" + "\n" +
+            "    if (!hasNext()) {throw new NoSuchElementException();}" + "\n" +
+            "    List<Visitable<?>> current = lists[list];" + "\n" +
+            "    last = current.get(index);" + "\n" +
+            "    visiting = true;" + "\n" +
+            "    sizeBeforeVisit = current.size();" + "\n" +
+            "    return last;" + "\n" +
+            "  }" + "\n" +
+            "};")
         .endBlock()
         .endMethod()
 
         .addNewMethod()
         .withModifiers(modifiersToInt(Modifier.PUBLIC))
-        .withName("forEach")
-        .withReturnType(new VoidRef())
-        .addNewArgument()
-        .withName("action")
-        .withTypeRef(consumerInterface.toReference(
-            new WildcardRefBuilder().withBoundKind(BoundKind.SUPER).withBounds(visitableInterface.toReference()).build()))
-        .endArgument()
+        .withName("spliterator")
+        .withReturnType(TypeDef.forName(Spliterator.class.getName()).toReference(visitableInterface.toReference()))
         .withNewBlock()
-        .addNewStringStatementStatement("aggregate().forEach(action);")
+        .addNewStringStatementStatement(
+            "return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL);")
         .endBlock()
         .endMethod()
 
         .addNewMethod()
         .withModifiers(modifiersToInt(Modifier.PUBLIC))
-        .withName("spliterator")
-        .withReturnType(TypeDef.forName(Spliterator.class.getName()).toReference(visitableInterface.toReference()))
+        .withName("clone")
+        .withReturnType(TypeDef.OBJECT_REF)
         .withNewBlock()
-        .addNewStringStatementStatement("return aggregate().spliterator();")
+        .addNewStringStatementStatement("VisitableMap clone = (VisitableMap) super.clone();")
+        .addNewStringStatementStatement("clone.lists = null;")
+        .addNewStringStatementStatement("return clone;")
+        .endBlock()
+        .endMethod()
+
+        .addNewMethod()
+        .withModifiers(modifiersToInt(Modifier.PRIVATE))
+        .withName("lists")
+        .withReturnType(new ClassRefBuilder(Collections.LIST.toReference(visitableInterface.toReference())).withDimensions(1)
+            .build())
+        .withNewBlock()
+        .addNewStringStatementStatement("List<Visitable<?>>[] result = lists;")
+        .addNewStringStatementStatement(
+            "if (result == null || !isCurrent(result)) {result = values().toArray(new List[size()]); lists = result;}")
+        .addNewStringStatementStatement("return result;")
+        .endBlock()
+        .endMethod()
+
+        .addNewMethod()
+        .withModifiers(modifiersToInt(Modifier.PRIVATE))
+        .withName("isCurrent")
+        .withReturnType(io.sundr.model.utils.Types.PRIMITIVE_BOOLEAN_REF)
+        .addNewArgument()
+        .withTypeRef(new ClassRefBuilder(Collections.LIST.toReference(visitableInterface.toReference())).withDimensions(1)
+            .build())
+        .withName("lists")
+        .endArgument()
+        .withNewBlock()
+        .addNewStringStatementStatement("if (lists.length != size()) {return false;}")
+        .addNewStringStatementStatement("int i = 0;")
+        .addNewStringStatementStatement("for (List<Visitable<?>> list : values()) {if (lists[i++] != list) {return false;}}")
+        .addNewStringStatementStatement("return true;")
         .endBlock()
         .endMethod()
 
         .addToAttributes(ALSO_IMPORT,
             new LinkedHashSet<>(
-                Arrays.asList(Collections.ARRAY_LIST.toReference(), ClassRef.forName(Collectors.class.getName()))))
+                Arrays.asList(Collections.ARRAY_LIST.toReference(), ClassRef.forName(AbstractList.class.getName()),
+                    ClassRef.forName(java.util.Collections.class.getName()),
+                    ClassRef.forName(NoSuchElementException.class.getName()),
+                    ClassRef.forName(Spliterators.class.getName()))))
         .accept(new ReplacePackage("io.sundr.builder", builderPackage))
         .build();
 
@@ -558,6 +783,73 @@ public class BuilderContext {
         .addToAttributes(Attributeable.INIT, "visit")
         .endProperty()
 
+        .addNewProperty()
+        .withModifiers(modifiersToInt(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL))
+        .withTypeRef(classValueType.toReference(CLASS.toReference(new WildcardRef())))
+        .withName("VISIT_PARAMETER_TYPES")
+        .addToAttributes(Attributeable.INIT,
+            "new ClassValue<Class<?>>() {@Override protected Class<?> computeValue(Class<?> type) {for (java.lang.reflect.Method method : type.getMethods()) {if (!method.getName().equals(VISIT) || method.getParameterTypes().length != 1) {continue;} return method.getParameterTypes()[0];} return Void.class;}}")
+        .endProperty()
+
+        .addNewProperty()
+        .withModifiers(modifiersToInt(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL))
+        .withTypeRef(io.sundr.model.utils.Types.PRIMITIVE_INT_REF)
+        .withName("DEFAULT_PARALLEL_THRESHOLD")
+        .addToAttributes(Attributeable.INIT, "2")
+        .endProperty()
+
+        .addNewProperty()
+        .withModifiers(modifiersToInt(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL))
+        .withTypeRef(classValueType.toReference(builderFactoryRef))
+        .withName("BUILDER_FACTORIES")
+        .addToAttributes(Attributeable.INIT,
+            "new ClassValue<Function<Object, VisitableBuilder<?, ?>>>() {@Override protected Function<Object, VisitableBuilder<?, ?>> computeValue(Class<?> type) {"
+                + "\n" +
+                "  Function<Object, VisitableBuilder<?, ?>> factory = findBuilderFactory(getBuilderRegistries(), type);" + "\n"
+                +
+                "  ClassLoader loader = type.getClassLoader();" + "\n" +
+                "  if (factory == null && loader != null && loader != BaseFluent.class.getClassLoader()) {" + "\n" +
+                "    factory = findBuilderFactory(ServiceLoader.load(BuilderRegistry.class, loader), type);" + "\n" +
+                "  }" + "\n" +
+                "  return factory != null ? factory : reflectiveBuilderFactory(type);" + "\n" +
+                "}}")
+        .endProperty()
+
+        .addNewProperty()
+        .withModifiers(modifiersToInt(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL))
+        .withTypeRef(classValueType.toReference(ClassRef.forName(Boolean.class.getName())))
+        .withName("CUSTOM_ACCEPT")
+        .addToAttributes(Attributeable.INIT,
+            "new ClassValue<Boolean>() {@Override protected Boolean computeValue(Class<?> type) {try {return type.getMethod(\"accept\", Visitor[].class).getDeclaringClass() != BaseFluent.class;} catch (NoSuchMethodException e) {return true;}}}")
+        .endProperty()
+
+        .addNewProperty()
+        .withModifiers(modifiersToInt(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL))
+        .withTypeRef(STRING_REF)
+        .withName("MAX_SURPLUS_QUEUED_TASKS_PROPERTY")
+        .addToAttributes(Attributeable.INIT, "sundrio.visitor.surplus")
+        .endProperty()
+
+        .addNewProperty()
+        .withModifiers(modifiersToInt(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL))
+        .withTypeRef(io.sundr.model.utils.Types.PRIMITIVE_INT_REF)
+        .withName("MAX_SURPLUS_QUEUED_TASKS")
+        .addToAttributes(Attributeable.INIT, "Integer.getInteger(MAX_SURPLUS_QUEUED_TASKS_PROPERTY, 3)")
+        .endProperty()
+
+        .addNewProperty()
+        .withModifiers(modifiersToInt(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL))
+        .withTypeRef(ClassRef.forName(AtomicLong.class.getName()))
+        .withName("REFLECTIVE_BUILDER_COUNT")
+        .addToAttributes(Attributeable.INIT, "new AtomicLong()")
+        .endProperty()
+
+        .addNewProperty()
+        .withModifiers(modifiersToInt(Modifier.PRIVATE, Modifier.STATIC, Modifier.VOLATILE))
+        .withTypeRef(Collections.LIST.toReference(builderRegistryInterface.toReference()))
+        .withName("builderRegistries")
+        .endProperty()
+
         .addNewProperty()
         .withModifiers(modifiersToInt(Modifier.PUBLIC, Modifier.FINAL))
         .withTypeRef(visitableMapClass.toReference())
@@ -582,13 +874,95 @@ public class BuilderContext {
                 "    return (VisitableBuilder<T, ?>) editor; " + "\n" +
                 "  } " + "\n" +
                 "} " + "\n" +
-                "try { " + "\n" +
-                "  return (VisitableBuilder<T, ?>) Class.forName(item.getClass().getName() + \"Builder\").getConstructor(item.getClass()) "
+                "return (VisitableBuilder<T, ?>) BUILDER_FACTORIES.get(item.getClass()).apply(item);")
+        .endBlock()
+        .endMethod()
+
+        .addNewMethod()
+        .withModifiers(modifiersToInt(Modifier.PUBLIC, Modifier.STATIC))
+        .withName("getReflectiveBuilderCount")
+        .withReturnType(io.sundr.model.utils.Types.PRIMITIVE_LONG_REF)
+        .withNewBlock()
+        .addNewStringStatementStatement("return REFLECTIVE_BUILDER_COUNT.get();")
+        .endBlock()
+        .endMethod()
+
+        .addNewMethod()
+        .withModifiers(modifiersToInt(Modifier.PRIVATE, Modifier.STATIC))
+        .withName("getBuilderRegistries")
+        .withReturnType(Collections.LIST.toReference(builderRegistryInterface.toReference()))
+        .withNewBlock()
+        .addNewStringStatementStatement(
+            "List<BuilderRegistry> result = builderRegistries;" + "\n" +
+                "if (result == null) {" + "\n" +
+                "  synchronized (BuilderRegistry.class) {" + "\n" +
+                "    result = builderRegistries;" + "\n" +
+                "    if (result == null) {" + "\n" +
+                "      result = new ArrayList<>();" + "\n" +
+                "      for (BuilderRegistry registry : ServiceLoader.load(BuilderRegistry.class, BaseFluent.class.getClassLoader())) {"
                 + "\n" +
-                "      .newInstance(item); " + "\n" +
-                "} catch (Exception e) { " + "\n" +
-                "  throw new IllegalStateException(\"Failed to create builder for: \" + item.getClass(), e); " + "\n" +
-                "} " + "\n")
+                "        result.add(registry);" + "\n" +
+                "      }" + "\n" +
+                "      builderRegistries = result;" + "\n" +
+                "    }" + "\n" +
+                "  }" + "\n" +
+                "}" + "\n" +
+                "return result;")
+        .endBlock()
+        .endMethod()
+
+        .addNewMethod()
+        .withModifiers(modifiersToInt(Modifier.PRIVATE, Modifier.STATIC))
+        .withName("findBuilderFactory")
+        .withReturnType(builderFactoryRef)
+        .addNewArgument()
+        .withTypeRef(new ClassRefBuilder().withNewFullyQualifiedName(Iterable.class.getName())
+            .withArguments(builderRegistryInterface.toReference()).build())
+        .withName("registries")
+        .endArgument()
+        .addNewArgument()
+        .withTypeRef(CLASS.toReference(new WildcardRef()))
+        .withName("type")
+        .endArgument()
+        .withNewBlock()
+        .addNewStringStatementStatement(
+            "for (BuilderRegistry registry : registries) {" + "\n" +
+                "  Function<Object, VisitableBuilder<?, ?>> factory = registry.getBuilderFactory(type);" + "\n" +
+                "  if (factory != null) {" + "\n" +
+                "    return factory;" + "\n" +
+                "  }" + "\n" +
+                "}" + "\n" +
+                "return null;")
+        .endBlock()
+        .endMethod()
+
+        .addNewMethod()
+        .withModifiers(modifiersToInt(Modifier.PRIVATE, Modifier.STATIC))
+        .withName("reflectiveBuilderFactory")
+        .withReturnType(builderFactoryRef)
+        .addNewArgument()
+        .withTypeRef(CLASS.toReference(new WildcardRef()))
+        .withName("type")
+        .endArgument()
+        .withNewBlock()
+        .addNewStringStatementStatement(
+            "try {" + "\n" +
+                "  java.lang.reflect.Constructor<?> constructor = Class.forName(type.getName() + \"Builder\").getConstructor(type);"
+                + "\n" +
+                "  return item -> {" + "\n" +
+                "    REFLECTIVE_BUILDER_COUNT.incrementAndGet();" + "\n" +
+                "    try {" + "\n" +
+                "      return (VisitableBuilder<?, ?>) constructor.newInstance(item);" + "\n" +
+                "    } catch (Exception e) {" + "\n" +
+                "      throw new IllegalStateException(\"Failed to create builder for: \" + type, e);" + "\n" +
+                "    }" + "\n" +
+                "  };" + "\n" +
+                "} catch (Exception e) {" + "\n" +
+                "  return item -> {" + "\n" +
+                "    REFLECTIVE_BUILDER_COUNT.incrementAndGet();" + "\n" +
+                "    throw new IllegalStateException(\"Failed to create builder for: \" + type, e);" + "\n" +
+                "  };" + "\n" +
+                "}")
         .endBlock()
         .endMethod()
 
@@ -710,18 +1084,7 @@ public class BuilderContext {
         .endArgument()
         .withNewBlock()
         .addNewStringStatementStatement(
-            "for (java.lang.reflect.Method method : visitor.getClass().getMethods()) {" + "\n" +
-                "  if (!method.getName().equals(VISIT) || method.getParameterTypes().length != 1) {" + "\n" +
-                "    continue;" + "\n" +
-                "  }" + "\n" +
-                "  Class visitorType = method.getParameterTypes()[0];" + "\n" +
-                "  if (visitorType.isAssignableFrom(fluent.getClass())) {" + "\n" +
-                "    return true;" + "\n" +
-                "  } else {" + "\n" +
-                "    return false;" + "\n" +
-                "  }" + "\n" +
-                "}" + "\n" +
-                "return false;")
+            "return VISIT_PARAMETER_TYPES.get(visitor.getClass()).isAssignableFrom(fluent.getClass());")
         .endBlock()
         .endMethod()
 
@@ -735,8 +1098,12 @@ public class BuilderContext {
         .endArgument()
         .withVarArgPreferred(true)
         .withNewBlock()
-        .addNewStringStatementStatement(
-            "return isPathAwareVisitorArray(visitors) ? acceptPathAware(asPathAwareVisitorArray(visitors)) : acceptInternal(visitors);")
+        .addNewStringStatementStatement("pushPath(this, visitors);")
+        .addNewStringStatementStatement("try {" + "\n" +
+            "  return acceptInternal(visitors);" + "\n" +
+            "} finally {" + "\n" +
+            "  popPath(visitors);" + "\n" +
+            "}")
         .endBlock()
         .endMethod()
 
@@ -766,80 +1133,183 @@ public class BuilderContext {
                 "  public void visit(V element) {" + "\n" +
                 "    visitor.visit(element);" + "\n" +
                 "  }" + "\n" +
+                "  @Override" + "\n" +
+                "  public boolean isThreadSafe() {" + "\n" +
+                "    return visitor.isThreadSafe();" + "\n" +
+                "  }" + "\n" +
                 "});")
         .endBlock()
         .endMethod()
 
         .addNewMethod()
         .withModifiers(modifiersToInt(Modifier.PUBLIC))
-        .withName("acceptInternal")
+        .withName("acceptParallel")
         .withReturnType(F.toReference())
         .addNewArgument()
-        .withTypeRef(new ClassRefBuilder(visitorInterface.toReference()).withDimensions(1).build())
         .withName("visitors")
+        .withTypeRef(new ClassRefBuilder().withFullyQualifiedName(Visitor.class.getName()).withDimensions(1).build())
+        .endArgument()
+        .withVarArgPreferred(true)
+        .withNewBlock()
+        .addNewStringStatementStatement(
+            "return acceptParallel(ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD, visitors);")
+        .endBlock()
+        .endMethod()
+
+        .addNewMethod()
+        .withModifiers(modifiersToInt(Modifier.PUBLIC))
+        .withName("acceptParallel")
+        .withReturnType(F.toReference())
+        .addNewArgument()
+        .withName("pool")
+        .withTypeRef(ClassRef.forName(ForkJoinPool.class.getName()))
+        .endArgument()
+        .addNewArgument()
+        .withName("threshold")
+        .withTypeRef(io.sundr.model.utils.Types.PRIMITIVE_INT_REF)
+        .endArgument()
+        .addNewArgument()
+        .withName("visitors")
+        .withTypeRef(new ClassRefBuilder().withFullyQualifiedName(Visitor.class.getName()).withDimensions(1).build())
         .endArgument()
         .withVarArgPreferred(true)
         .withNewBlock()
         .addNewStringStatementStatement(
             "for (Visitor visitor : visitors) {" + "\n" +
-                "  for (Visitable visitable : _visitables) {" + "\n" +
-                "    visitable.accept(visitor);" + "\n" +
-                "  }" + "\n" +
-                "" + "\n" +
-                "  if (canVisit(visitor, this)) {" + "\n" +
-                "    visitor.visit(this);" + "\n" +
+                "  if (!visitor.isThreadSafe() || visitor instanceof PathAwareTypedVisitor) {" + "\n" +
+                "    return accept(visitors);" + "\n" +
                 "  }" + "\n" +
                 "}" + "\n" +
+                "if (CUSTOM_ACCEPT.get(getClass())) {" + "\n" +
+                "  return accept(visitors);" + "\n" +
+                "}" + "\n" +
+                "for (Visitor visitor : visitors) {" + "\n" +
+                "  pool.invoke(parallelAccept(this, visitor, threshold));" + "\n" +
+                "}" + "\n" +
                 "return (F) this;")
         .endBlock()
         .endMethod()
 
         .addNewMethod()
-        .withModifiers(modifiersToInt(Modifier.PRIVATE))
-        .withName("acceptPathAware")
+        .withModifiers(modifiersToInt(Modifier.PRIVATE, Modifier.STATIC))
+        .withName("parallelAccept")
+        .withReturnType(ClassRef.forName(RecursiveAction.class.getName()))
+        .addNewArgument()
+        .withName("fluent")
+        .withModifiers(modifiersToInt(Modifier.FINAL))
+        .withTypeRef(new ClassRefBuilder().withFullyQualifiedName("io.sundr.builder.BaseFluent")
+            .withArguments(new WildcardRef()).build())
+        .endArgument()
+        .addNewArgument()
+        .withName("visitor")
+        .withModifiers(modifiersToInt(Modifier.FINAL))
+        .withTypeRef(new ClassRefBuilder().withFullyQualifiedName(Visitor.class.getName()).build())
+        .endArgument()
+        .addNewArgument()
+        .withName("threshold")
+        .withModifiers(modifiersToInt(Modifier.FINAL))
+        .withTypeRef(io.sundr.model.utils.Types.PRIMITIVE_INT_REF)
+        .endArgument()
+        .withNewBlock()
+        .addNewStringStatementStatement(
+            "return new RecursiveAction() {" + "\n" +
+                "  @Override" + "\n" +
+                "  protected void compute() {" + "\n" +
+                "    List<RecursiveAction> children = new ArrayList<>();" + "\n" +
+                "    for (Visitable visitable : fluent._visitables) {" + "\n" +
+                "      if (visitable instanceof BaseFluent && !CUSTOM_ACCEPT.get(visitable.getClass())) {" + "\n" +
+                "        children.add(parallelAccept((BaseFluent<?>) visitable, visitor, threshold));" + "\n" +
+                "      } else {" + "\n" +
+                "        visitable.accept(visitor);" + "\n" +
+                "      }" + "\n" +
+                "    }" + "\n" +
+                "    if (children.size() >= threshold && getSurplusQueuedTaskCount() <= MAX_SURPLUS_QUEUED_TASKS) {" + "\n" +
+                "      invokeAll(children);" + "\n" +
+                "    } else {" + "\n" +
+                "      for (RecursiveAction child : children) {" + "\n" +
+                "        child.invoke();" + "\n" +
+                "      }" + "\n" +
+                "    }" + "\n" +
+                "    if (canVisit(visitor, fluent)) {" + "\n" +
+                "      visitor.visit(fluent);" + "\n" +
+                "    }" + "\n" +
+                "  }" + "\n" +
+                "};")
+        .endBlock()
+        .endMethod()
+
+        .addNewMethod()
+        .withModifiers(modifiersToInt(Modifier.PUBLIC))
+        .withName("acceptInternal")
         .withReturnType(F.toReference())
         .addNewArgument()
-        .withTypeRef(new ClassRefBuilder(pathAwareVisitorClass.toReference()).withDimensions(1).build())
-        .withName("pathAwareTypedVisitors")
+        .withTypeRef(new ClassRefBuilder(visitorInterface.toReference()).withDimensions(1).build())
+        .withName("visitors")
         .endArgument()
         .withVarArgPreferred(true)
         .withNewBlock()
         .addNewStringStatementStatement(
-            "return acceptInternal(Arrays.stream(pathAwareTypedVisitors).map(p -> p.next(this)).toArray(size -> new PathAwareTypedVisitor[size]));")
+            "for (Visitor visitor : visitors) {" + "\n" +
+                "  for (Visitable visitable : _visitables) {" + "\n" +
+                "    visitable.accept(visitor);" + "\n" +
+                "  }" + "\n" +
+                "" + "\n" +
+                "  if (canVisit(visitor, this)) {" + "\n" +
+                "    visitor.visit(this);" + "\n" +
+                "  }" + "\n" +
+                "}" + "\n" +
+                "return (F) this;")
         .endBlock()
         .endMethod()
 
         .addNewMethod()
         .withModifiers(modifiersToInt(Modifier.PRIVATE, Modifier.STATIC))
-        .withName("isPathAwareVisitorArray")
-        .withReturnType(io.sundr.model.utils.Types.PRIMITIVE_BOOLEAN_REF)
+        .withName("pushPath")
+        .withReturnType(new VoidRef())
         .addNewArgument()
-        .withTypeRef(new ClassRefBuilder(visitorInterface.toReference()).withDimensions(1).build())
+        .withTypeRef(TypeDef.OBJECT_REF)
+        .withName("item")
+        .endArgument()
+        .addNewArgument()
+        .withTypeRef(new ClassRefBuilder().withFullyQualifiedName(Visitor.class.getName()).withDimensions(1).build())
         .withName("visitors")
         .endArgument()
+        .withVarArgPreferred(true)
         .withNewBlock()
         .addNewStringStatementStatement(
-            "return !Arrays.stream(visitors).filter(v -> !(v instanceof PathAwareTypedVisitor)).findAny().isPresent();")
+            "for (Visitor visitor : visitors) {" + "\n" +
+                "  if (visitor instanceof PathAwareTypedVisitor) {" + "\n" +
+                "    ((PathAwareTypedVisitor) visitor).push(item);" + "\n" +
+                "  }" + "\n" +
+                "}")
         .endBlock()
         .endMethod()
 
         .addNewMethod()
         .withModifiers(modifiersToInt(Modifier.PRIVATE, Modifier.STATIC))
-        .withName("asPathAwareVisitorArray")
-        .withReturnType(new ClassRefBuilder(pathAwareVisitorClass.toReference()).withDimensions(1).build())
+        .withName("popPath")
+        .withReturnType(new VoidRef())
         .addNewArgument()
-        .withTypeRef(new ClassRefBuilder(visitorInterface.toReference()).withDimensions(1).build())
+        .withTypeRef(new ClassRefBuilder().withFullyQualifiedName(Visitor.class.getName()).withDimensions(1).build())
         .withName("visitors")
         .endArgument()
+        .withVarArgPreferred(true)
         .withNewBlock()
         .addNewStringStatementStatement(
-            "return Arrays.stream(visitors).filter(v -> v instanceof PathAwareTypedVisitor).map(v -> (PathAwareTypedVisitor) v).toArray(size -> new PathAwareTypedVisitor[size]);")
+            "for (Visitor visitor : visitors) {" + "\n" +
+                "  if (visitor instanceof PathAwareTypedVisitor) {" + "\n" +
+                "    ((PathAwareTypedVisitor) visitor).pop();" + "\n" +
+                "  }" + "\n" +
+                "}")
         .endBlock()
         .endMethod()
         .addToAttributes(ALSO_IMPORT, new LinkedHashSet<>(Arrays.asList(
             ClassRef.forName(Collectors.class.getName()),
             ClassRef.forName(Objects.class.getName()),
-            ClassRef.forName(Arrays.class.getName()))))
+            ClassRef.forName(Arrays.class.getName()),
+            ClassRef.forName(ServiceLoader.class.getName()),
+            Collections.ARRAY_LIST.toReference(),
+            Collections.LIST.toReference())))
         .accept(new ReplacePackage("io.sundr.builder", builderPackage))
         .build();
 
@@ -1039,6 +1509,10 @@ public class BuilderContext {
     return visitableBuilderInterface;
   }
 
+  public TypeDef getBuilderRegistryInterface() {
+    return builderRegistryInterface;
+  }
+
   public TypeDef getVisitableMapClass() {
     return visitableMapClass;
   }
@@ -1088,6 +1562,10 @@ public class BuilderContext {
     return buildableRepository;
   }
 
+  public BuilderRegistryRepository getBuilderRegistryRepository() {
+    return builderRegistryRepository;
+  }
+
   public DefinitionRepository getDefinitionRepository() {
     return aptContext.getDefinitionRepository();
   }
@@ -52,6 +52,10 @@ public class BuilderContextManager {
     }
   }
 
+  public static synchronized boolean hasContext() {
+    return context != null;
+  }
+
   public static synchronized BuilderContext getContext() {
     if (context == null) {
       throw new IllegalStateException("Builder context not available.");
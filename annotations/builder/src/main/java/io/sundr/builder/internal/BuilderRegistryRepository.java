@@ -0,0 +1,95 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.builder.internal;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import io.sundr.model.TypeDef;
+
+/**
+ * Keeps track of the builder registries of the current compilation.
+ * Buildables are registered as their builders get generated and are later grouped into one registry per package.
+ */
+public class BuilderRegistryRepository {
+
+  public static final String BUILDER_REGISTRY_NAME = "BuilderRegistryImpl";
+
+  private final Map<String, Set<TypeDef>> pending = new LinkedHashMap<String, Set<TypeDef>>();
+  private final Set<String> registered = new HashSet<String>();
+  private final Set<String> registries = new LinkedHashSet<String>();
+
+  public TypeDef register(TypeDef buildable) {
+    if (buildable != null && registered.add(buildable.getFullyQualifiedName())) {
+      pending.computeIfAbsent(buildable.getPackageName(), k -> new LinkedHashSet<TypeDef>()).add(buildable);
+    }
+    return buildable;
+  }
+
+  /**
+   * Get the buildables that are not part of a registry yet, grouped by package.
+   * The returned buildables are no longer pending after this call.
+   *
+   * @return a map with the package name as key and the buildables as value.
+   */
+  public Map<String, Set<TypeDef>> drainPending() {
+    Map<String, Set<TypeDef>> result = new LinkedHashMap<String, Set<TypeDef>>(pending);
+    pending.clear();
+    return result;
+  }
+
+  /**
+   * Allocate the fully qualified name of a new registry for the specified package.
+   * The name is suffixed with a hash of the registered buildables, so that modules that contribute buildables to the
+   * same package don't end up with clashing registries on the classpath. The hash only depends on the buildables, so
+   * the name is stable across builds. Registries that would still clash within the compilation get a numeric suffix.
+   *
+   * @param packageName the package name.
+   * @param buildables the buildables the registry is for.
+   * @return the fully qualified name of the registry.
+   */
+  public String newRegistryName(String packageName, Set<TypeDef> buildables) {
+    String prefix = packageName == null || packageName.isEmpty() ? "" : packageName + ".";
+    String hash = Integer.toHexString(buildables.stream()
+        .map(TypeDef::getFullyQualifiedName)
+        .sorted()
+        .collect(Collectors.joining(",")).hashCode());
+    String name = prefix + BUILDER_REGISTRY_NAME + "_" + hash;
+    for (int i = 2; registries.contains(name); i++) {
+      name = prefix + BUILDER_REGISTRY_NAME + "_" + hash + "_" + i;
+    }
+    registries.add(name);
+    return name;
+  }
+
+  /**
+   * Get the fully qualified names of all registries created so far and forget about them.
+   *
+   * @return the set of registry names.
+   */
+  public Set<String> drainRegistries() {
+    Set<String> result = Collections.unmodifiableSet(new LinkedHashSet<String>(registries));
+    registries.clear();
+    registered.clear();
+    return result;
+  }
+}
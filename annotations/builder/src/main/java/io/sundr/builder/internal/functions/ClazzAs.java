@@ -345,7 +345,7 @@ public class ClazzAs {
 
       Method hashCode = new MethodBuilder().withModifiers(Types.modifiersToInt(Modifier.PUBLIC))
           .withReturnType(io.sundr.model.utils.Types.PRIMITIVE_INT_REF).withName("hashCode").withNewBlock()
-          .withStatements(BuilderUtils.toHashCode(properties)).endBlock()
+          .withStatements(BuilderUtils.toHashCode(fluentImplType, properties)).endBlock()
           // .withBlock(new Block(new Provider<List<Statement>>() {
           //   @Override
           //   public List<Statement> get() {
@@ -470,7 +470,7 @@ public class ClazzAs {
       Method hashCode = new MethodBuilder().withModifiers(Types.modifiersToInt(Modifier.PUBLIC))
           .withReturnType(io.sundr.model.utils.Types.PRIMITIVE_INT_REF).withName("hashCode")
           .withNewBlock()
-          .withStatements(BuilderUtils.toHashCode(fields))
+          .withStatements(BuilderUtils.toHashCode(builderType, fields))
           .endBlock()
           .build();
 
@@ -64,9 +64,10 @@ public class Descendants {
           BuilderContext ctx = BuilderContextManager.getContext();
           BuildableRepository repository = ctx.getBuildableRepository();
 
-          for (TypeDef type : repository.getBuildables()) {
+          //The repository indexes the hierarchy of the buildables, so there is no need to check each one of them.
+          for (TypeDef type : repository.getBuildableDescendants(item)) {
 
-            if (type.getKind() == Kind.CLASS && !type.isAbstract() && isDescendant(type, item) && !type.equals(item)
+            if (type.getKind() == Kind.CLASS && !type.isAbstract() && !type.equals(item)
                 && !type.hasAttribute(GENERATED)) {
               result.add(type);
             }
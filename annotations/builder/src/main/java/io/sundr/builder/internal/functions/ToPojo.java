@@ -90,6 +90,7 @@ import io.sundr.utils.Strings;
 public class ToPojo implements Function<RichTypeDef, TypeDef> {
 
   private static final String TO_STRING_ARRAY_TEXT = loadResourceQuietly(TO_STRING_ARRAY_SNIPPET);
+  private static final String HASH_CODE_FIELD = "cachedHashCode";
 
   //A stack of variable names to be used for lambda expressions.
   //We need them because nested lambdas may clash.
@@ -138,6 +139,7 @@ public class ToPojo implements Function<RichTypeDef, TypeDef> {
     boolean autobox = false;
     boolean initialize = false;
     boolean mutable = false;
+    boolean cacheHashCode = false;
 
     final List adapters = new ArrayList();
 
@@ -147,6 +149,7 @@ public class ToPojo implements Function<RichTypeDef, TypeDef> {
           if (!annotationRefs.contains(r)) {
             annotationRefs.add(r);
           }
+          cacheHashCode = Boolean.parseBoolean(String.valueOf(r.getParameters().getOrDefault("cacheHashCode", false)));
         }
         if (r.getClassRef().getFullyQualifiedName().equals(Pojo.class.getTypeName())) {
           pojoRef = r;
@@ -559,13 +562,24 @@ public class ToPojo implements Function<RichTypeDef, TypeDef> {
         .withReturnType(Types.PRIMITIVE_INT_REF)
         .withName("hashCode")
         .withNewBlock()
-        .withStatements(BuilderUtils.toHashCode(fields))
+        .withStatements(cacheHashCode && !mutable
+            ? BuilderUtils.toCachedHashCode(generatedPojo, fields, HASH_CODE_FIELD)
+            : BuilderUtils.toHashCode(generatedPojo, fields))
         .endBlock()
         .build();
 
     additionalMethods.add(equals);
     additionalMethods.add(hashCode);
 
+    List<Property> additionalProperties = new ArrayList<>();
+    if (cacheHashCode && !mutable) {
+      additionalProperties.add(new PropertyBuilder()
+          .withName(HASH_CODE_FIELD)
+          .withTypeRef(Types.PRIMITIVE_INT_REF)
+          .withModifiers(modifiersToInt(Modifier.PRIVATE, Modifier.TRANSIENT))
+          .build());
+    }
+
     for (Object o : adapters) {
       if (o instanceof AnnotationRef) {
         AnnotationRef r = (AnnotationRef) o;
@@ -635,6 +649,7 @@ public class ToPojo implements Function<RichTypeDef, TypeDef> {
 
     return DefinitionRepository.getRepository().register(new TypeDefBuilder(generatedPojo)
         .withComments("Generated")
+        .addAllToProperties(additionalProperties)
         .addAllToMethods(additionalMethods)
         .addToAttributes(ALSO_IMPORT, additionalImports)
         .addToAttributes(ADDITIONAL_BUILDABLES, additionalBuildables)
@@ -24,12 +24,20 @@ import static io.sundr.builder.Constants.EMPTY_FUNCTION_SNIPPET;
 import static io.sundr.builder.Constants.EXTERNAL_BUILDABLE;
 import static io.sundr.utils.Strings.loadResourceQuietly;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
 import javax.lang.model.element.Modifier;
+import javax.tools.StandardLocation;
+
+import io.sundr.Metrics;
+import io.sundr.SundrException;
 
 import io.sundr.builder.Constants;
 import io.sundr.builder.TypedVisitor;
@@ -38,12 +46,14 @@ import io.sundr.builder.annotations.ExternalBuildables;
 import io.sundr.builder.annotations.Inline;
 import io.sundr.builder.internal.BuilderContext;
 import io.sundr.builder.internal.BuilderContextManager;
+import io.sundr.builder.internal.BuilderRegistryRepository;
 import io.sundr.builder.internal.functions.ClazzAs;
 import io.sundr.builder.internal.functions.TypeAs;
 import io.sundr.builder.internal.utils.BuilderUtils;
 import io.sundr.codegen.apt.processor.AbstractCodeGeneratingProcessor;
 import io.sundr.model.ClassRef;
 import io.sundr.model.ClassRefBuilder;
+import io.sundr.model.Kind;
 import io.sundr.model.Method;
 import io.sundr.model.MethodBuilder;
 import io.sundr.model.Property;
@@ -70,6 +80,7 @@ public abstract class AbstractBuilderProcessor extends AbstractCodeGeneratingPro
         generate(context.getPathAwareVisitorClass());
 
         generate(context.getVisitableBuilderInterface());
+        generate(context.getBuilderRegistryInterface());
         generate(context.getVisitableMapClass());
         generate(context.getBuilderInterface());
         generate(context.getFluentInterface());
@@ -215,18 +226,22 @@ public abstract class AbstractBuilderProcessor extends AbstractCodeGeneratingPro
         continue;
       }
       System.err.printf("\033[2K%3d%% Generating: %s\r", Math.round(percentage), typeDef.getFullyQualifiedName());
-      generate(ClazzAs.FLUENT_INTERFACE.apply(richTypeDef));
-      generate(ClazzAs.FLUENT_IMPL.apply(richTypeDef));
+      generate(transform("transform.fluent", ClazzAs.FLUENT_INTERFACE, richTypeDef));
+      generate(transform("transform.fluent-impl", ClazzAs.FLUENT_IMPL, richTypeDef));
       if (typeDef.isAbstract()) {
         continue;
       }
 
+      if (typeDef.getOuterTypeName() == null || typeDef.getOuterTypeName().isEmpty()) {
+        ctx.getBuilderRegistryRepository().register(typeDef);
+      }
+
       if (!typeDef.isFinal() && typeDef.getAttributes().containsKey(EDITABLE_ENABLED)
           && (Boolean) typeDef.getAttributes().get(EDITABLE_ENABLED)) {
-        generate(ClazzAs.EDITABLE_BUILDER.apply(richTypeDef));
-        generate(ClazzAs.EDITABLE.apply(richTypeDef));
+        generate(transform("transform.editable-builder", ClazzAs.EDITABLE_BUILDER, richTypeDef));
+        generate(transform("transform.editable", ClazzAs.EDITABLE, richTypeDef));
       } else {
-        generate(ClazzAs.BUILDER.apply(richTypeDef));
+        generate(transform("transform.builder", ClazzAs.BUILDER, richTypeDef));
       }
 
       Buildable buildable = typeDef.getAttribute(BUILDABLE);
@@ -243,6 +258,81 @@ public abstract class AbstractBuilderProcessor extends AbstractCodeGeneratingPro
     }
   }
 
+  private static TypeDef transform(String phase, Function<RichTypeDef, TypeDef> function, RichTypeDef typeDef) {
+    long start = Metrics.start();
+    try {
+      return function.apply(typeDef);
+    } finally {
+      Metrics.stop(phase, start);
+    }
+  }
+
+  /**
+   * Generates a builder registry for each package that contains buildables generated since the last call.
+   *
+   * @param ctx The builder context.
+   */
+  public void generateBuilderRegistries(BuilderContext ctx) {
+    BuilderRegistryRepository repository = ctx.getBuilderRegistryRepository();
+    for (Map.Entry<String, Set<TypeDef>> entry : repository.drainPending().entrySet()) {
+      generate(builderRegistryOf(ctx, repository.newRegistryName(entry.getKey(), entry.getValue()), entry.getValue()));
+    }
+  }
+
+  /**
+   * Registers all the builder registries of the compilation as services, so that they can be found by the
+   * {@link java.util.ServiceLoader}. Needs to be called once, when processing is over.
+   */
+  public void generateBuilderRegistryServices() {
+    if (!BuilderContextManager.hasContext()) {
+      return;
+    }
+    BuilderContext ctx = BuilderContextManager.getContext();
+    Set<String> registries = ctx.getBuilderRegistryRepository().drainRegistries();
+    if (registries.isEmpty()) {
+      return;
+    }
+
+    String service = SERVICES + ctx.getBuilderRegistryInterface().getFullyQualifiedName();
+    try (Writer writer = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, EMPTY, service).openWriter()) {
+      for (String registry : registries) {
+        writer.write(registry);
+        writer.write(NEWLINE);
+      }
+    } catch (IOException e) {
+      throw SundrException.launderThrowable(e);
+    }
+  }
+
+  static TypeDef builderRegistryOf(BuilderContext ctx, String registryName, Set<TypeDef> buildables) {
+    StringBuilder sb = new StringBuilder();
+    sb.append("switch (type.getName()) {").append(NEWLINE);
+    for (TypeDef buildable : buildables) {
+      String fqcn = buildable.getFullyQualifiedName();
+      sb.append("  case \"").append(fqcn).append("\":").append(NEWLINE);
+      sb.append(String.format(NEW_BUILDER_FACTORY_FORMAT, fqcn, fqcn + "Builder", fqcn)).append(NEWLINE);
+    }
+    sb.append("  default:").append(NEWLINE);
+    sb.append("    return null;").append(NEWLINE);
+    sb.append("}");
+
+    TypeDef registryInterface = ctx.getBuilderRegistryInterface();
+    int index = registryName.lastIndexOf('.');
+    return new TypeDefBuilder()
+        .withKind(Kind.CLASS)
+        .withModifiers(Types.modifiersToInt(Modifier.PUBLIC))
+        .withPackageName(index > 0 ? registryName.substring(0, index) : null)
+        .withName(registryName.substring(index + 1))
+        .withImplementsList(registryInterface.toInternalReference())
+        .addToMethods(new MethodBuilder(registryInterface.getMethods().get(0))
+            .withModifiers(Types.modifiersToInt(Modifier.PUBLIC))
+            .withNewBlock()
+            .addNewStringStatementStatement(sb.toString())
+            .endBlock()
+            .build())
+        .build();
+  }
+
   /**
    * Returns true if pojos where generated.
    *
@@ -255,7 +345,7 @@ public abstract class AbstractBuilderProcessor extends AbstractCodeGeneratingPro
     for (TypeDef typeDef : buildables) {
       RichTypeDef richTypeDef = TypeArguments.apply(typeDef);
       if (typeDef.isInterface() || typeDef.isAnnotation()) {
-        typeDef = ClazzAs.POJO.apply(richTypeDef);
+        typeDef = transform("transform.pojo", ClazzAs.POJO, richTypeDef);
         builderContext.getDefinitionRepository().register(typeDef);
         builderContext.getBuildableRepository().register(typeDef);
         generate(typeDef);
@@ -293,4 +383,8 @@ public abstract class AbstractBuilderProcessor extends AbstractCodeGeneratingPro
   private static final String NEW_BULDER_WITH_ITEM_AND_SET_FUNCTION_FORMAT = "super(item);this.builder=new %s(this, item);this.function=function;";
   private static final String BUILD_AND_APPLY_FUNCTION = " return function.apply(builder.build());";
 
+  private static final String SERVICES = "META-INF/services/";
+  private static final String NEWLINE = "\n";
+  private static final String NEW_BUILDER_FACTORY_FORMAT = "    return type == %s.class ? item -> new %s((%s) item) : null;";
+
 }
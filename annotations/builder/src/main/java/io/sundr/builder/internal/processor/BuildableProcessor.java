@@ -53,12 +53,19 @@ import io.sundr.model.repo.DefinitionRepository;
 @SupportedAnnotationTypes("io.sundr.builder.annotations.Buildable")
 public class BuildableProcessor extends AbstractBuilderProcessor {
   @Override
-  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment env) {
+  protected boolean processRound(Set<? extends TypeElement> annotations, RoundEnvironment env) {
     Elements elements = processingEnv.getElementUtils();
     Types types = processingEnv.getTypeUtils();
     Filer filer = processingEnv.getFiler();
 
+    if (env.processingOver()) {
+      generateBuilderRegistryServices();
+      processingOver();
+      return true;
+    }
+
     BuilderContext ctx = null;
+    AptContext aptContext = null;
 
     //First pass register all buildables
     Set<TypeDef> buildables = new HashSet<>();
@@ -69,7 +76,9 @@ public class BuildableProcessor extends AbstractBuilderProcessor {
           continue;
         }
 
-        AptContext aptContext = AptContext.create(elements, types, DefinitionRepository.getRepository());
+        if (aptContext == null) {
+          aptContext = AptContext.create(elements, types, DefinitionRepository.getRepository());
+        }
         ctx = BuilderContextManager.create(elements, types, buildable.validationEnabled(), buildable.generateBuilderPackage(),
             buildable.builderPackage());
         TypeDef b = new TypeDefBuilder(Adapters.adaptType(Apt.getClassElement(element), aptContext))
@@ -113,8 +122,12 @@ public class BuildableProcessor extends AbstractBuilderProcessor {
     }
     generateLocalDependenciesIfNeeded();
     ctx.getDefinitionRepository().updateReferenceMap();
-    generateBuildables(ctx, buildables);
-    generatePojos(ctx, buildables);
+    BuilderContext builderContext = ctx;
+    generateInBatch(() -> {
+      generateBuildables(builderContext, buildables);
+      generatePojos(builderContext, buildables);
+      generateBuilderRegistries(builderContext);
+    });
     processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
         String.format("%-120s", "100%: Builder generation complete."));
     return false;
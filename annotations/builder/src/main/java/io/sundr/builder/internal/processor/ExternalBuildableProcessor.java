@@ -59,11 +59,17 @@ import io.sundr.model.TypeDefBuilder;
 @SupportedAnnotationTypes("io.sundr.builder.annotations.ExternalBuildables")
 public class ExternalBuildableProcessor extends AbstractBuilderProcessor {
   @Override
-  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment env) {
+  protected boolean processRound(Set<? extends TypeElement> annotations, RoundEnvironment env) {
     Elements elements = processingEnv.getElementUtils();
     Types types = processingEnv.getTypeUtils();
     Filer filer = processingEnv.getFiler();
 
+    if (env.processingOver()) {
+      generateBuilderRegistryServices();
+      processingOver();
+      return true;
+    }
+
     BuilderContext ctx = null;
     Set<TypeDef> buildables = new HashSet<>();
     //First pass register all externals
@@ -75,6 +81,7 @@ public class ExternalBuildableProcessor extends AbstractBuilderProcessor {
         }
         ctx = BuilderContextManager.create(elements, types, generated.validationEnabled(), generated.generateBuilderPackage(),
             generated.builderPackage());
+        AptContext aptContext = AptContext.create(ctx.getElements(), ctx.getTypes(), ctx.getDefinitionRepository());
 
         for (String name : generated.value()) {
           PackageElement packageElement = elements.getPackageElement(name);
@@ -99,7 +106,6 @@ public class ExternalBuildableProcessor extends AbstractBuilderProcessor {
             final boolean includeInterfaces = generated.includeInterfaces();
             final boolean includeAbstractClasses = generated.includeAbstractClasses();
 
-            AptContext aptContext = AptContext.create(ctx.getElements(), ctx.getTypes(), ctx.getDefinitionRepository());
             TypeDef original = Adapters.adaptType(typeElement, aptContext);
             String fqcn = original.getFullyQualifiedName();
             boolean isBuildable = original.getKind() != Kind.ENUM
@@ -151,8 +157,6 @@ public class ExternalBuildableProcessor extends AbstractBuilderProcessor {
           final boolean includeInterfaces = generated.includeInterfaces();
           final boolean includeAbstractClasses = generated.includeAbstractClasses();
 
-          AptContext aptContext = AptContext.create(ctx.getElements(), ctx.getTypes(), ctx.getDefinitionRepository());
-
           TypeDef original = Adapters.adaptType(Apt.getClassElement(ref), aptContext);
           String fqcn = original.getFullyQualifiedName();
           boolean isBuildable = original.getKind() != Kind.ENUM && !original.isAbstract()
@@ -207,8 +211,12 @@ public class ExternalBuildableProcessor extends AbstractBuilderProcessor {
 
     generateLocalDependenciesIfNeeded();
     ctx.getDefinitionRepository().updateReferenceMap();
-    generateBuildables(ctx, buildables);
-    generatePojos(ctx, buildables);
+    BuilderContext builderContext = ctx;
+    generateInBatch(() -> {
+      generateBuildables(builderContext, buildables);
+      generatePojos(builderContext, buildables);
+      generateBuilderRegistries(builderContext);
+    });
     processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
         String.format("%-120s", "100%: Builder generation complete."));
     return true;
@@ -60,6 +60,7 @@ import io.sundr.model.Kind;
 import io.sundr.model.Method;
 import io.sundr.model.MethodBuilder;
 import io.sundr.model.Nameable;
+import io.sundr.model.PrimitiveRef;
 import io.sundr.model.Property;
 import io.sundr.model.PropertyBuilder;
 import io.sundr.model.Statement;
@@ -607,27 +608,86 @@ public class BuilderUtils {
     return result;
   }
 
-  public static List<Statement> toHashCode(Collection<Property> properties) {
+  /**
+   * Creates the statements of a hashCode method, that combines the hashes of the properties without allocating.
+   * The hash of the superclass is included, only when the superclass is also taken into account by
+   * {@link #toEquals(TypeDef, Collection)}.
+   *
+   * @param type the type that will contain the method.
+   * @param properties the properties to hash.
+   * @return the statements of the method.
+   */
+  public static List<Statement> toHashCode(TypeDef type, Collection<Property> properties) {
+    List<Statement> statements = new ArrayList<>();
+    statements.add(new StringStatement("int result = 1;"));
+    statements.addAll(toHashCodeStatements(type, properties));
+    statements.add(new StringStatement("return result;"));
+    return statements;
+  }
+
+  /**
+   * Creates the statements of a hashCode method, that memoizes the hash in the specified field.
+   * This is only safe for immutable types.
+   *
+   * @param type the type that will contain the method.
+   * @param properties the properties to hash.
+   * @param field the name of the int field that holds the hash.
+   * @return the statements of the method.
+   */
+  public static List<Statement> toCachedHashCode(TypeDef type, Collection<Property> properties, String field) {
+    List<Statement> statements = new ArrayList<>();
+    statements.add(new StringStatement("int result = this." + field + ";"));
+    statements.add(new StringStatement("if (result != 0) return result;"));
+    statements.add(new StringStatement("result = 1;"));
+    statements.addAll(toHashCodeStatements(type, properties));
+    statements.add(new StringStatement("this." + field + " = result;"));
+    statements.add(new StringStatement("return result;"));
+    return statements;
+  }
+
+  private static List<Statement> toHashCodeStatements(TypeDef type, Collection<Property> properties) {
     List<Statement> statements = new ArrayList<>();
-    statements.add(new StringStatement("return java.util.Objects.hash(" + Stream
-        .concat(properties.stream().map(Property::getName), Stream.of("super.hashCode()")).collect(Collectors.joining(",  "))
-        + ");"));
+    for (Property property : properties) {
+      statements.add(new StringStatement("result = 31 * result + " + hashCodeOf(type, property) + ";"));
+    }
+    if (hasSuperEquals(type)) {
+      statements.add(new StringStatement("result = 31 * result + super.hashCode();"));
+    }
     return statements;
   }
 
+  private static String hashCodeOf(TypeDef type, Property property) {
+    String name = property.getName();
+    TypeRef typeRef = property.getTypeRef();
+    if (typeRef instanceof PrimitiveRef && ((PrimitiveRef) typeRef).getDimensions() == 0) {
+      String primitive = ((PrimitiveRef) typeRef).getName();
+      String wrapper = "int".equals(primitive) ? "Integer"
+          : "char".equals(primitive) ? "Character" : capitalizeFirst(primitive);
+      return wrapper + ".hashCode(this." + name + ")";
+    }
+    if (typeRef instanceof ClassRef && Descendants.isDescendant(type, GetDefinition.of((ClassRef) typeRef))) {
+      //Like equals, skip the property when it points back to this (e.g. a builder that is its own fluent).
+      return "(this." + name + " != this ? java.util.Objects.hashCode(this." + name + ") : 0)";
+    }
+    return "java.util.Objects.hashCode(this." + name + ")";
+  }
+
+  private static boolean hasSuperEquals(TypeDef type) {
+    //If base fluent is the superclass just skip.
+    ClassRef superClass = type.getExtendsList().isEmpty() ? TypeDef.OBJECT_REF : type.getExtendsList().iterator().next();
+    String superClassFQN = superClass.getFullyQualifiedName();
+    return !BuilderContextManager.getContext().getBaseFluentClass().getFullyQualifiedName().equals(superClassFQN)
+        && !OBJECT_FULLY_QUALIFIED_NAME.equals(superClassFQN);
+  }
+
   public static List<Statement> toEquals(TypeDef type, Collection<Property> properties) {
     List<Statement> statements = new ArrayList<>();
 
     String simpleName = type.getName();
-    ClassRef superClass = type.getExtendsList().isEmpty() ? TypeDef.OBJECT_REF : type.getExtendsList().iterator().next();
     statements.add(new StringStatement("if (this == o) return true;"));
     statements.add(new StringStatement("if (o == null || getClass() != o.getClass()) return false;"));
 
-    //If base fluent is the superclass just skip.
-    final BuilderContext context = BuilderContextManager.getContext();
-    final String superClassFQN = superClass.getFullyQualifiedName();
-    if (!context.getBaseFluentClass().getFullyQualifiedName().equals(superClassFQN)
-        && !OBJECT_FULLY_QUALIFIED_NAME.equals(superClassFQN)) {
+    if (hasSuperEquals(type)) {
       statements.add(new StringStatement("if (!super.equals(o)) return false;"));
     }
     statements.add(new StringStatement(
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.builder.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import io.sundr.model.Kind;
+import io.sundr.model.TypeDef;
+import io.sundr.model.TypeDefBuilder;
+import io.sundr.model.repo.DefinitionRepository;
+
+public class BuildableRepositoryTest {
+
+  private final TypeDef base = type("Base", Kind.CLASS).build();
+  private final TypeDef named = type("Named", Kind.INTERFACE).build();
+  private final TypeDef middle = type("Middle", Kind.CLASS).addToExtendsList(base.toInternalReference()).build();
+  private final TypeDef leaf = type("Leaf", Kind.CLASS).addToExtendsList(middle.toInternalReference())
+      .addToImplementsList(named.toInternalReference()).build();
+
+  @Test
+  public void testBuildableDescendants() {
+    DefinitionRepository.withNewRepository().apply(definitions -> {
+      Arrays.asList(base, named, middle, leaf).forEach(definitions::register);
+      BuildableRepository repository = new BuildableRepository();
+      repository.register(base);
+      repository.register(middle);
+      repository.register(leaf);
+
+      assertEquals(names("Middle", "Leaf"), names(repository, base));
+      assertEquals(names("Leaf"), names(repository, middle));
+      assertEquals(names("Leaf"), names(repository, named));
+      assertTrue(repository.getBuildableDescendants(leaf).isEmpty());
+
+      //Registering a buildable again, updates the index.
+      repository.register(type("Leaf", Kind.CLASS).addToImplementsList(named.toInternalReference()).build());
+      assertEquals(names("Middle"), names(repository, base));
+      assertEquals(names("Leaf"), names(repository, named));
+      return null;
+    });
+  }
+
+  @Test
+  public void testBuildableDescendantsOfSupertypesRegisteredLater() {
+    DefinitionRepository.withNewRepository().apply(definitions -> {
+      definitions.register(leaf);
+      BuildableRepository repository = new BuildableRepository();
+      repository.register(leaf);
+      assertTrue(repository.getBuildableDescendants(base).isEmpty());
+
+      //Middle extends base, but that is only known once middle is registered.
+      definitions.register(middle);
+      assertEquals(names("Leaf"), names(repository, base));
+      assertEquals(names("Leaf"), names(repository, middle));
+      return null;
+    });
+  }
+
+  private static TypeDefBuilder type(String name, Kind kind) {
+    return new TypeDefBuilder().withKind(kind).withPackageName("io.sundr.test").withName(name);
+  }
+
+  private static Set<String> names(String... names) {
+    return new HashSet<>(Arrays.asList(names));
+  }
+
+  private static Set<String> names(BuildableRepository repository, TypeDef type) {
+    return repository.getBuildableDescendants(type).stream().map(TypeDef::getName).collect(Collectors.toSet());
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.builder.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import io.sundr.model.Kind;
+import io.sundr.model.TypeDef;
+import io.sundr.model.TypeDefBuilder;
+
+public class BuilderRegistryRepositoryTest {
+
+  private final TypeDef circle = type("Circle");
+  private final TypeDef square = type("Square");
+
+  @Test
+  public void testRegistryNameDependsOnBuildables() {
+    String name = new BuilderRegistryRepository().newRegistryName("io.sundr.test", setOf(circle, square));
+
+    assertTrue(name.startsWith("io.sundr.test." + BuilderRegistryRepository.BUILDER_REGISTRY_NAME + "_"));
+    //The name is stable across compilations and doesn't depend on the order of the buildables.
+    assertEquals(name, new BuilderRegistryRepository().newRegistryName("io.sundr.test", setOf(square, circle)));
+    //Modules that contribute other buildables to the same package, get another registry.
+    assertNotEquals(name, new BuilderRegistryRepository().newRegistryName("io.sundr.test", setOf(circle)));
+  }
+
+  @Test
+  public void testRegistryNamesAreUniqueWithinCompilation() {
+    BuilderRegistryRepository repository = new BuilderRegistryRepository();
+    String first = repository.newRegistryName("io.sundr.test", setOf(circle));
+    String second = repository.newRegistryName("io.sundr.test", setOf(circle));
+
+    assertEquals(first + "_2", second);
+    assertEquals(setOf(first, second), repository.drainRegistries());
+  }
+
+  private static TypeDef type(String name) {
+    return new TypeDefBuilder().withKind(Kind.CLASS).withPackageName("io.sundr.test").withName(name).build();
+  }
+
+  private static <T> Set<T> setOf(T... items) {
+    return new LinkedHashSet<>(Arrays.asList(items));
+  }
+}
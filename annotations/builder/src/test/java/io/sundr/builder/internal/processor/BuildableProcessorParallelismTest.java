@@ -0,0 +1,129 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.builder.internal.processor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BuildableProcessorParallelismTest {
+
+  private static final String PACKAGE = "package testpackage;\n\nimport io.sundr.builder.annotations.Buildable;\n"
+      + "import java.util.List;\nimport java.util.Map;\n\n";
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testParallelGenerationMatchesSequential() throws Exception {
+    Path sources = folder.newFolder("src").toPath();
+    source(sources, "Shape", "@Buildable\npublic abstract class Shape {\n"
+        + "  private final String name;\n"
+        + "  public Shape(String name) { this.name = name; }\n"
+        + "  public String getName() { return name; }\n}\n");
+    source(sources, "Point", "@Buildable\npublic class Point {\n"
+        + "  private final int x;\n  private final int y;\n"
+        + "  public Point(int x, int y) { this.x = x; this.y = y; }\n"
+        + "  public int getX() { return x; }\n  public int getY() { return y; }\n}\n");
+    source(sources, "Circle", "@Buildable\npublic class Circle extends Shape {\n"
+        + "  private final Point center;\n  private final int radius;\n"
+        + "  public Circle(String name, Point center, int radius) { super(name); this.center = center; this.radius = radius; }\n"
+        + "  public Point getCenter() { return center; }\n  public int getRadius() { return radius; }\n}\n");
+    source(sources, "Square", "@Buildable\npublic class Square extends Shape {\n"
+        + "  private final List<Point> corners;\n"
+        + "  public Square(String name, List<Point> corners) { super(name); this.corners = corners; }\n"
+        + "  public List<Point> getCorners() { return corners; }\n}\n");
+    source(sources, "Canvas", "@Buildable\npublic class Canvas {\n"
+        + "  private final List<Shape> shapes;\n  private final Map<String, Shape> layers;\n  private final Shape background;\n"
+        + "  public Canvas(List<Shape> shapes, Map<String, Shape> layers, Shape background) {\n"
+        + "    this.shapes = shapes; this.layers = layers; this.background = background;\n  }\n"
+        + "  public List<Shape> getShapes() { return shapes; }\n"
+        + "  public Map<String, Shape> getLayers() { return layers; }\n"
+        + "  public Shape getBackground() { return background; }\n}\n");
+
+    Map<String, String> sequential = generate(sources, 1);
+    Map<String, String> parallel = generate(sources, 4);
+
+    assertTrue(sequential.containsKey("testpackage/CanvasFluent.java"));
+    assertEquals(sequential.keySet(), parallel.keySet());
+    sequential.forEach((file, content) -> assertEquals(file, content, parallel.get(file)));
+  }
+
+  private static void source(Path sources, String name, String body) throws IOException {
+    Path dir = Files.createDirectories(sources.resolve("testpackage"));
+    Files.write(dir.resolve(name + ".java"), (PACKAGE + body).getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Runs the processor over the sources, with the specified parallelism.
+   *
+   * @return the generated files by path, relative to the generated sources directory.
+   */
+  private Map<String, String> generate(Path sources, int parallelism) throws IOException {
+    Path generated = folder.newFolder("generated-" + parallelism).toPath();
+    Path classes = folder.newFolder("classes-" + parallelism).toPath();
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    List<File> files;
+    try (Stream<Path> paths = Files.walk(sources)) {
+      files = paths.filter(p -> p.toString().endsWith(".java")).map(Path::toFile).collect(Collectors.toList());
+    }
+    try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+      List<String> options = new ArrayList<>(Arrays.asList("-proc:only", "-implicit:none",
+          "-Asundrio.parallelism=" + parallelism,
+          "-classpath", System.getProperty("java.class.path"),
+          "-s", generated.toString(),
+          "-d", classes.toString()));
+      JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null,
+          fileManager.getJavaFileObjectsFromFiles(files));
+      task.setProcessors(Collections.singletonList(new BuildableProcessor()));
+      assertTrue(diagnostics.getDiagnostics().toString(), task.call());
+    }
+
+    Map<String, String> result = new TreeMap<>();
+    try (Stream<Path> paths = Files.walk(generated)) {
+      for (Path path : paths.filter(Files::isRegularFile).collect(Collectors.toList())) {
+        result.put(generated.relativize(path).toString().replace(File.separatorChar, '/'),
+            new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+      }
+    }
+    return result;
+  }
+}
@@ -60,7 +60,12 @@ public class DslProcessor extends AbstractCodeGeneratingProcessor {
   public static final String DEFAULT_TEMPLATE_LOCATION = "templates/dsl/dsl.vm";
 
   @Override
-  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment env) {
+  protected boolean processRound(Set<? extends TypeElement> annotations, RoundEnvironment env) {
+    if (env.processingOver()) {
+      processingOver();
+      return true;
+    }
+
     Elements elements = processingEnv.getElementUtils();
     Types types = processingEnv.getTypeUtils();
     DslContext context = DslContextManager.create(elements, types);
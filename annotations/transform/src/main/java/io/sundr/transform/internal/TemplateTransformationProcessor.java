@@ -80,7 +80,12 @@ public class TemplateTransformationProcessor extends AbstractCodeGeneratingProce
   }
 
   @Override
-  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment env) {
+  protected boolean processRound(Set<? extends TypeElement> annotations, RoundEnvironment env) {
+    if (env.processingOver()) {
+      processingOver();
+      return false;
+    }
+
     Elements elements = processingEnv.getElementUtils();
     Types types = processingEnv.getTypeUtils();
     Filer filer = processingEnv.getFiler();
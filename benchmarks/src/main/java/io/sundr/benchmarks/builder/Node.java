@@ -0,0 +1,52 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package io.sundr.benchmarks.builder;
+
+import java.util.List;
+import java.util.Map;
+
+import io.sundr.builder.annotations.Buildable;
+
+/**
+ * A minimal tree shaped model, used to create arbitrarily large builder trees.
+ */
+@Buildable
+public class Node {
+
+  private final String name;
+  private final Map<String, String> labels;
+  private final List<Node> children;
+
+  public Node(String name, Map<String, String> labels, List<Node> children) {
+    this.name = name;
+    this.labels = labels;
+    this.children = children;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public Map<String, String> getLabels() {
+    return labels;
+  }
+
+  public List<Node> getChildren() {
+    return children;
+  }
+}
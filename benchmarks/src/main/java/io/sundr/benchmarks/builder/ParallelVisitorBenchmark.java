@@ -0,0 +1,96 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package io.sundr.benchmarks.builder;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.sundr.builder.BaseFluent;
+import io.sundr.builder.TypedVisitor;
+
+/**
+ * Compares sequential and parallel traversal of a generated builder tree, for different levels of parallelism.
+ * The visitor modifies each node it visits, like defaulting or labeling visitors do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelVisitorBenchmark {
+
+  @Param({ "1", "2", "4", "8" })
+  public int parallelism;
+
+  @Param({ "10" })
+  public int depth;
+
+  @Param({ "4" })
+  public int fanOut;
+
+  private ForkJoinPool pool;
+  private NodeBuilder tree;
+
+  @Setup
+  public void setup() {
+    pool = new ForkJoinPool(parallelism);
+    tree = new NodeBuilder(Trees.create(depth, fanOut));
+  }
+
+  @TearDown
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  @Benchmark
+  public NodeBuilder sequential() {
+    return tree.accept(new LabelVisitor());
+  }
+
+  @Benchmark
+  public NodeBuilder parallel() {
+    return tree.acceptParallel(pool, BaseFluent.DEFAULT_PARALLEL_THRESHOLD, new LabelVisitor());
+  }
+
+  private static class LabelVisitor extends TypedVisitor<NodeBuilder> {
+
+    @Override
+    public void visit(NodeBuilder element) {
+      element.addToLabels("path", element.getName() + "/" + element.getLabels().size());
+    }
+
+    @Override
+    public boolean isThreadSafe() {
+      return true;
+    }
+  }
+}
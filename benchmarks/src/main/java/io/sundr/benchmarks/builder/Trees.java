@@ -0,0 +1,50 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package io.sundr.benchmarks.builder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public final class Trees {
+
+  private Trees() {
+    //Utility Class
+  }
+
+  /**
+   * Create a balanced tree of {@link Node} instances.
+   *
+   * @param depth the number of levels of the tree.
+   * @param fanOut the number of children of each non leaf node.
+   * @return the root of the tree.
+   */
+  public static Node create(int depth, int fanOut) {
+    return create("root", depth, fanOut);
+  }
+
+  private static Node create(String name, int depth, int fanOut) {
+    List<Node> children = new ArrayList<>();
+    if (depth > 1) {
+      for (int i = 0; i < fanOut; i++) {
+        children.add(create(name + "-" + i, depth - 1, fanOut));
+      }
+    }
+    return new Node(name, Collections.singletonMap("name", name), children);
+  }
+}
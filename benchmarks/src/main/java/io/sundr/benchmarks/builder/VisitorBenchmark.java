@@ -0,0 +1,94 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package io.sundr.benchmarks.builder;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.sundr.builder.PathAwareTypedVisitor;
+import io.sundr.builder.TypedVisitor;
+import io.sundr.builder.Visitor;
+
+/**
+ * Measures {@link io.sundr.builder.BaseFluent#accept(Visitor...)} over a generated builder tree.
+ * To compare against a previous release, run the same benchmark with the sundr-core version of that release.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VisitorBenchmark {
+
+  @Param({ "6", "9" })
+  public int depth;
+
+  @Param({ "3" })
+  public int fanOut;
+
+  private NodeBuilder tree;
+  private int visited;
+
+  @Setup
+  public void setup() {
+    tree = new NodeBuilder(Trees.create(depth, fanOut));
+  }
+
+  @Benchmark
+  public int typedVisitor() {
+    visited = 0;
+    tree.accept(new TypedVisitor<NodeBuilder>() {
+      @Override
+      public void visit(NodeBuilder element) {
+        visited++;
+      }
+    });
+    return visited;
+  }
+
+  @Benchmark
+  public int classVisitor() {
+    visited = 0;
+    tree.accept(NodeBuilder.class, n -> visited++);
+    return visited;
+  }
+
+  @Benchmark
+  public int pathAwareVisitor() {
+    visited = 0;
+    tree.accept(new PathAwareTypedVisitor<NodeBuilder, NodeBuilder>() {
+      @Override
+      public void visit(NodeBuilder element) {
+        visited++;
+      }
+    });
+    return visited;
+  }
+}
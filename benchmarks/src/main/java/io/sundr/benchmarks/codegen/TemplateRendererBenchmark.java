@@ -0,0 +1,105 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.benchmarks.codegen;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.sundr.codegen.st4.StringTemplateRenderer;
+import io.sundr.codegen.velocity.VelocityRenderer;
+import io.sundr.model.Method;
+import io.sundr.model.MethodBuilder;
+import io.sundr.model.TypeDef;
+import io.sundr.model.TypeDefBuilder;
+import io.sundr.model.utils.Types;
+
+/**
+ * Compares the StringTemplate and Velocity renderers, using equivalent templates on the same {@link TypeDef}.
+ * The *NewRenderer benchmarks create a renderer per item, like the template transformation processor does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateRendererBenchmark {
+
+  private static final String VELOCITY_TEMPLATE = "package ${model.packageName};\n"
+      + "public class ${model.name}Copy {\n"
+      + "#foreach($method in $model.methods)\n"
+      + "  public ${method.returnType} ${method.name}() { return null; }\n"
+      + "#end\n"
+      + "}\n";
+
+  private static final String ST_TEMPLATE = "package $model.packageName$;\n"
+      + "public class $model.name$Copy {\n"
+      + "$model.methods:{method|  public $method.returnType$ $method.name$() { return null; \\}\n}$"
+      + "}\n";
+
+  @Param({ "10", "100" })
+  public int methods;
+
+  private TypeDef type;
+  private VelocityRenderer<TypeDef> velocity;
+  private StringTemplateRenderer<TypeDef> stringTemplate;
+
+  @Setup
+  public void setup() {
+    type = new TypeDefBuilder()
+        .withPackageName("io.sundr.benchmarks.codegen")
+        .withName("Sample")
+        .withMethods(IntStream.range(0, methods)
+            .mapToObj(i -> new MethodBuilder().withName("method" + i).withReturnType(Types.STRING_REF).build())
+            .toArray(Method[]::new))
+        .build();
+    velocity = new VelocityRenderer<>(VELOCITY_TEMPLATE);
+    stringTemplate = new StringTemplateRenderer<>(ST_TEMPLATE);
+  }
+
+  @Benchmark
+  public String velocity() {
+    return velocity.render(type);
+  }
+
+  @Benchmark
+  public String stringTemplate() {
+    return stringTemplate.render(type);
+  }
+
+  @Benchmark
+  public String velocityNewRenderer() {
+    return new VelocityRenderer<TypeDef>(VELOCITY_TEMPLATE).render(type);
+  }
+
+  @Benchmark
+  public String stringTemplateNewRenderer() {
+    return new StringTemplateRenderer<TypeDef>(ST_TEMPLATE).render(type);
+  }
+}
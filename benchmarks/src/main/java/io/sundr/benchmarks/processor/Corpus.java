@@ -0,0 +1,161 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.benchmarks.processor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes synthetic sources for the annotation processors to a directory.
+ * Types are spread over packages of {@link #TYPES_PER_PACKAGE} types.
+ */
+public final class Corpus {
+
+  public static final int TYPES_PER_PACKAGE = 100;
+  public static final String TEMPLATE = "benchmark.vm";
+
+  private static final String BASE_PACKAGE = "io.sundr.benchmarks.corpus";
+
+  private Corpus() {
+    //Utility class
+  }
+
+  /**
+   * Write @Buildable classes with simple, nested, collection and map properties.
+   * Each class refers to the previous one, so that nested builders are generated too.
+   *
+   * @param dir the source directory.
+   * @param size the number of classes.
+   * @throws IOException if writing fails.
+   */
+  public static void buildables(Path dir, int size) throws IOException {
+    for (int i = 0; i < size; i++) {
+      String pkg = packageName(i);
+      String name = "Pojo" + i;
+      String nested = i == 0 ? "String" : packageName(i - 1) + ".Pojo" + (i - 1);
+      StringBuilder sb = new StringBuilder();
+      sb.append("package ").append(pkg).append(";\n\n");
+      sb.append("import java.util.List;\n");
+      sb.append("import java.util.Map;\n\n");
+      sb.append("@io.sundr.builder.annotations.Buildable\n");
+      sb.append("public class ").append(name).append(" {\n\n");
+      sb.append("  private final String name;\n");
+      sb.append("  private final int count;\n");
+      sb.append("  private final ").append(nested).append(" nested;\n");
+      sb.append("  private final List<").append(nested).append("> items;\n");
+      sb.append("  private final List<String> tags;\n");
+      sb.append("  private final Map<String, String> labels;\n\n");
+      sb.append("  public ").append(name).append("(String name, int count, ").append(nested).append(" nested, List<")
+          .append(nested).append("> items, List<String> tags, Map<String, String> labels) {\n");
+      sb.append("    this.name = name;\n");
+      sb.append("    this.count = count;\n");
+      sb.append("    this.nested = nested;\n");
+      sb.append("    this.items = items;\n");
+      sb.append("    this.tags = tags;\n");
+      sb.append("    this.labels = labels;\n");
+      sb.append("  }\n\n");
+      getter(sb, "String", "name");
+      getter(sb, "int", "count");
+      getter(sb, nested, "nested");
+      getter(sb, "List<" + nested + ">", "items");
+      getter(sb, "List<String>", "tags");
+      getter(sb, "Map<String, String>", "labels");
+      sb.append("}\n");
+      write(dir, pkg, name, sb);
+    }
+  }
+
+  /**
+   * Write @Dsl interfaces, each describing a small grammar with an entry point, optional clauses and terminals.
+   *
+   * @param dir the source directory.
+   * @param size the number of interfaces.
+   * @throws IOException if writing fails.
+   */
+  public static void dsls(Path dir, int size) throws IOException {
+    for (int i = 0; i < size; i++) {
+      String pkg = packageName(i);
+      String name = "Dsl" + i;
+      StringBuilder sb = new StringBuilder();
+      sb.append("package ").append(pkg).append(";\n\n");
+      sb.append("import io.sundr.dsl.annotations.*;\n\n");
+      sb.append("@Dsl\n");
+      sb.append("@InterfaceName(\"Client").append(i).append("\")\n");
+      sb.append("public interface ").append(name).append(" {\n\n");
+      sb.append("  @EntryPoint\n  void get();\n\n");
+      sb.append("  @EntryPoint\n  void delete();\n\n");
+      sb.append("  @InterfaceName(\"Namespaced").append(i).append("\")\n  void inNamespace(String namespace);\n\n");
+      sb.append("  @InterfaceName(\"Labeled").append(i).append("\")\n  @Any(methods = \"get\")\n")
+          .append("  void withLabel(String key, String value);\n\n");
+      sb.append("  @Terminal\n  @InterfaceName(\"Named").append(i).append("\")\n  String withName(String name);\n\n");
+      sb.append("  @Terminal\n  @InterfaceName(\"Listable").append(i).append("\")\n  @Any(methods = \"get\")\n")
+          .append("  java.util.List<String> list();\n");
+      sb.append("}\n");
+      write(dir, pkg, name, sb);
+    }
+  }
+
+  /**
+   * Write classes annotated with @TemplateTransformation, along with the Velocity template they use.
+   *
+   * @param dir the source directory.
+   * @param size the number of classes.
+   * @throws IOException if writing fails.
+   */
+  public static void transformations(Path dir, int size) throws IOException {
+    Files.write(dir.resolve(TEMPLATE), ("package ${model.packageName};\n\n"
+        + "public class ${model.name}Copy {\n"
+        + "#foreach($property in $model.properties)\n"
+        + "  private ${property.typeRef} ${property.name};\n"
+        + "#end\n"
+        + "}\n").getBytes(StandardCharsets.UTF_8));
+
+    for (int i = 0; i < size; i++) {
+      String pkg = packageName(i);
+      String name = "Entity" + i;
+      StringBuilder sb = new StringBuilder();
+      sb.append("package ").append(pkg).append(";\n\n");
+      sb.append("@io.sundr.transform.annotations.TemplateTransformation(\"/").append(TEMPLATE).append("\")\n");
+      sb.append("public class ").append(name).append(" {\n");
+      sb.append("  public String name;\n");
+      sb.append("  public int count;\n");
+      sb.append("  public java.util.List<String> tags;\n");
+      sb.append("  public java.util.Map<String, String> labels;\n");
+      sb.append("}\n");
+      write(dir, pkg, name, sb);
+    }
+  }
+
+  private static String packageName(int index) {
+    return BASE_PACKAGE + ".p" + (index / TYPES_PER_PACKAGE);
+  }
+
+  private static void getter(StringBuilder sb, String type, String name) {
+    sb.append("  public ").append(type).append(" get").append(Character.toUpperCase(name.charAt(0)))
+        .append(name.substring(1)).append("() {\n");
+    sb.append("    return ").append(name).append(";\n");
+    sb.append("  }\n\n");
+  }
+
+  private static void write(Path dir, String pkg, String name, CharSequence content) throws IOException {
+    Path pkgDir = dir.resolve(pkg.replace('.', '/'));
+    Files.createDirectories(pkgDir);
+    Files.write(pkgDir.resolve(name + ".java"), content.toString().getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,305 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.benchmarks.processor;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.processing.Processor;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+/**
+ * Runs the annotation processors in-process through {@link JavaCompiler} over a synthetic {@link Corpus}.
+ * Each invocation is a full annotation processing run (-proc:only) with fresh output directories.
+ * The processor is loaded through a new class loader on each invocation, so that no state (e.g. the definition repository,
+ * function and template caches) is carried over from previous runs, like in a cold javac run.
+ * Allocation rates are available through the gc profiler (-prof gc), peak heap and the time spent in each processing
+ * phase are reported as secondary results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ProcessorBenchmark {
+
+  @Param({ "buildable", "dsl", "transform" })
+  public String processor;
+
+  //Larger corpora take minutes per run, pass them explicitly e.g. -p size=1000,10000
+  @Param({ "100" })
+  public int size;
+
+  //Rendering threads, see -Asundrio.parallelism e.g. -p parallelism=1,4
+  @Param({ "1" })
+  public int parallelism;
+
+  //Collects the phase timings, see -Asundrio.metrics. Use -p metrics=false to measure without the overhead.
+  @Param({ "true" })
+  public boolean metrics;
+
+  private JavaCompiler compiler;
+  private Path root;
+  private Path sources;
+  private Path generated;
+  private Path classes;
+  private Path metricsFile;
+  private List<File> files;
+  private URL[] classpath;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    compiler = ToolProvider.getSystemJavaCompiler();
+    if (compiler == null) {
+      throw new IllegalStateException("A JDK is required to run the annotation processor benchmarks.");
+    }
+    root = Files.createTempDirectory("sundrio-benchmarks");
+    sources = Files.createDirectories(root.resolve("src"));
+    generated = root.resolve("generated");
+    classes = root.resolve("classes");
+    metricsFile = root.resolve("metrics.json");
+
+    List<URL> urls = new ArrayList<>();
+    for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+      urls.add(new File(entry).toURI().toURL());
+    }
+    classpath = urls.toArray(new URL[urls.size()]);
+
+    switch (processor) {
+      case "buildable":
+        Corpus.buildables(sources, size);
+        break;
+      case "dsl":
+        Corpus.dsls(sources, size);
+        break;
+      case "transform":
+        Corpus.transformations(sources, size);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown processor: " + processor);
+    }
+
+    try (Stream<Path> paths = Files.walk(sources)) {
+      files = paths.filter(p -> p.toString().endsWith(".java")).map(Path::toFile).collect(Collectors.toList());
+    }
+  }
+
+  @Setup(Level.Invocation)
+  public void clean() throws IOException {
+    delete(generated);
+    delete(classes);
+    Files.deleteIfExists(metricsFile);
+    Files.createDirectories(generated);
+    Files.createDirectories(classes);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    delete(root);
+  }
+
+  @Benchmark
+  public void process(HeapCounters heap, PhaseCounters phases) throws Exception {
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    Thread thread = Thread.currentThread();
+    ClassLoader contextClassLoader = thread.getContextClassLoader();
+    //The parent only provides the JDK classes, everything else is loaded again.
+    try (URLClassLoader loader = new URLClassLoader(classpath, ClassLoader.getSystemClassLoader().getParent());
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+      thread.setContextClassLoader(loader);
+      Processor instance = (Processor) loader.loadClass(processorClassName()).getDeclaredConstructor().newInstance();
+      List<String> options = Arrays.asList("-proc:only", "-implicit:none", "-nowarn",
+          "-Asundrio.parallelism=" + parallelism,
+          "-Asundrio.metrics=" + metrics,
+          "-Asundrio.metrics.file=" + metricsFile,
+          "-classpath", System.getProperty("java.class.path"),
+          "-sourcepath", sources.toString(),
+          "-s", generated.toString(),
+          "-d", classes.toString());
+      JavaCompiler.CompilationTask task = compiler
+          .getTask(null, fileManager, diagnostics, options, null, fileManager.getJavaFileObjectsFromFiles(files));
+      task.setProcessors(Collections.singletonList(instance));
+      if (!task.call()) {
+        throw new IllegalStateException("Annotation processing failed: " + diagnostics.getDiagnostics());
+      }
+    } finally {
+      thread.setContextClassLoader(contextClassLoader);
+    }
+    heap.record();
+    if (metrics) {
+      phases.record(new String(Files.readAllBytes(metricsFile), StandardCharsets.UTF_8));
+    }
+  }
+
+  private String processorClassName() {
+    switch (processor) {
+      case "buildable":
+        return "io.sundr.builder.internal.processor.BuildableProcessor";
+      case "dsl":
+        return "io.sundr.dsl.internal.processor.DslProcessor";
+      default:
+        return "io.sundr.transform.internal.TemplateTransformationProcessor";
+    }
+  }
+
+  private static void delete(Path path) throws IOException {
+    if (!Files.exists(path)) {
+      return;
+    }
+    try (Stream<Path> paths = Files.walk(path)) {
+      for (Path p : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+        Files.delete(p);
+      }
+    }
+  }
+
+  /**
+   * Each iteration is a single run and JMH sums the counters over the measurement iterations.
+   * So, counters are divided by the number of iterations, for the results to be the average of the runs.
+   *
+   * @param params the benchmark parameters.
+   * @return the number of measurement iterations.
+   */
+  private static int measurementIterations(BenchmarkParams params) {
+    return Math.max(1, params.getMeasurement().getCount());
+  }
+
+  /**
+   * Reports the time spent in each phase of a processing run, as collected by the processors.
+   * Adaptation of elements, transformation of the model, rendering and writing of the generated sources.
+   * The phases may overlap, e.g. types that get adapted while transforming the model count in both.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class PhaseCounters {
+
+    private static final Pattern TIMER = Pattern.compile("\"([^\"]+)\": \\{ \"count\": \\d+, \"nanos\": (\\d+) \\}");
+
+    public double adaptMs;
+    public double modelMs;
+    public double renderMs;
+    public double writeMs;
+
+    private int iterations;
+
+    @Setup(Level.Trial)
+    public void setup(BenchmarkParams params) {
+      iterations = measurementIterations(params);
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+      adaptMs = 0;
+      modelMs = 0;
+      renderMs = 0;
+      writeMs = 0;
+    }
+
+    void record(String json) {
+      Matcher matcher = TIMER.matcher(json);
+      while (matcher.find()) {
+        String name = matcher.group(1);
+        double millis = Long.parseLong(matcher.group(2)) / 1e6 / iterations;
+        if (name.startsWith("adapt.")) {
+          adaptMs += millis;
+        } else if (name.startsWith("transform.")) {
+          modelMs += millis;
+        } else if (name.equals("render")) {
+          renderMs += millis;
+        } else if (name.equals("write")) {
+          writeMs += millis;
+        }
+      }
+    }
+  }
+
+  /**
+   * Reports the peak heap usage of each processing run.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class HeapCounters {
+
+    public double peakHeapMb;
+
+    private int iterations;
+
+    @Setup(Level.Trial)
+    public void setup(BenchmarkParams params) {
+      iterations = measurementIterations(params);
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+      System.gc();
+      for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+        if (pool.getType() == MemoryType.HEAP) {
+          pool.resetPeakUsage();
+        }
+      }
+    }
+
+    void record() {
+      long peak = 0;
+      for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+        if (pool.getType() == MemoryType.HEAP) {
+          peak += pool.getPeakUsage().getUsed();
+        }
+      }
+      peakHeapMb = peak / (1024.0 * 1024.0) / iterations;
+    }
+  }
+}
@@ -19,57 +19,85 @@ package io.sundr.codegen.api;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
+import io.sundr.Metrics;
+import io.sundr.Scope;
+import io.sundr.SundrException;
 import io.sundr.utils.Predicates;
 
-public class CodeGenerator<T> {
+public class CodeGenerator<T> implements AutoCloseable {
 
   private final Class<T> type;
   private final Function<T, Writer> output;
+  private final BiFunction<T, String, Writer> renderedOutput;
   private final Function<T, String> identifier;
-  private final Function<T, String> renderer;
+  private final Renderer<T> renderer;
   private final Predicate<T> skip;
   private final Consumer<T> onSkip;
+  private final int parallelism;
+
+  private static final ThreadFactory DAEMON_THREADS = r -> {
+    Thread thread = new Thread(r, "sundrio-codegen");
+    thread.setDaemon(true);
+    return thread;
+  };
 
   private final Consumer<T> ignore = t -> {
   };
-  private final Set<String> generated = new HashSet<>();
+  private final Set<String> generated = ConcurrentHashMap.newKeySet();
+  //The rendering threads, started the first time items are rendered in parallel and stopped when the generator is closed.
+  private ExecutorService executor;
 
   public static class Builder<T> {
 
     private final Class<T> type;
     private final Function<T, Writer> output;
+    private final BiFunction<T, String, Writer> renderedOutput;
     private final Function<T, String> identifier;
-    private final Function<T, String> renderer;
+    private final Renderer<T> renderer;
     private final Predicate<T> skip;
     private final Consumer<T> onSkip;
+    private final int parallelism;
 
     private Builder(Class<T> type) {
-      this(type, null, null, null, null, null);
+      this(type, null, null, null, null, null, null, 1);
     }
 
-    private Builder(Class<T> type, Function<T, Writer> output, Function<T, String> identifier, Function<T, String> renderer,
-        Predicate<T> skip,
-        Consumer<T> onSkip) {
+    private Builder(Class<T> type, Function<T, Writer> output, BiFunction<T, String, Writer> renderedOutput,
+        Function<T, String> identifier, Renderer<T> renderer, Predicate<T> skip, Consumer<T> onSkip, int parallelism) {
       this.type = type;
       this.output = output;
+      this.renderedOutput = renderedOutput;
       this.identifier = identifier;
       this.renderer = renderer;
       this.skip = skip;
       this.onSkip = onSkip;
+      this.parallelism = parallelism;
     }
 
     public Builder<T> withOutput(Output<T> output) {
-      return withOutput(output.getFunction());
+      return new Builder<>(type, output.getFunction(), output.getRenderedFunction().orElse(null), identifier, renderer, skip,
+          onSkip, parallelism);
     }
 
     public Builder<T> withOutput(Function<T, Writer> output) {
-      return new Builder<>(type, output, identifier, renderer, skip, onSkip);
+      return new Builder<>(type, output, null, identifier, renderer, skip, onSkip, parallelism);
     }
 
     public Builder<T> withIdentifier(Identifier<T> identifier) {
@@ -77,41 +105,61 @@ public class CodeGenerator<T> {
     }
 
     public Builder<T> withIdentifier(Function<T, String> identifier) {
-      return new Builder<>(type, output, identifier, renderer, skip, onSkip);
+      return new Builder<>(type, output, renderedOutput, identifier, renderer, skip, onSkip, parallelism);
     }
 
     public Builder<T> withRenderer(Renderer<T> renderer) {
-      return withRenderer(renderer.getFunction());
+      return new Builder<>(type, output, renderedOutput, identifier, renderer, skip, onSkip, parallelism);
     }
 
     public Builder<T> withRenderer(Function<T, String> renderer) {
-      return new Builder<>(type, output, identifier, renderer, skip, onSkip);
+      return withRenderer(new FunctionRenderer<>(type, renderer));
     }
 
     public Builder<T> skipping(Predicate<T> skip) {
-      return new Builder<>(type, output, identifier, renderer, skip, onSkip);
+      return new Builder<>(type, output, renderedOutput, identifier, renderer, skip, onSkip, parallelism);
+    }
+
+    /**
+     * Render items on the specified number of threads.
+     * Items are still identified, skipped and written by the calling thread, in the order they are passed. Only the
+     * rendering happens on the worker threads, with a bounded number of rendered items waiting to be written.
+     * The threads are shared by all the calls to {@link CodeGenerator#generate(Object[])}, until the generator is closed.
+     *
+     * @param parallelism the number of rendering threads, 1 means render on the calling thread.
+     * @return the builder
+     */
+    public Builder<T> withParallelism(int parallelism) {
+      if (parallelism < 1) {
+        throw new IllegalArgumentException("Parallelism should be at least 1.");
+      }
+      return new Builder<>(type, output, renderedOutput, identifier, renderer, skip, onSkip, parallelism);
     }
 
     public CodeGenerator<T> build() {
-      return new CodeGenerator<>(type, output, identifier, renderer, skip, onSkip);
+      return new CodeGenerator<>(type, output, renderedOutput, identifier, renderer, skip, onSkip, parallelism);
     }
 
     public boolean generate(T... items) {
-      return build().generate(items);
+      try (CodeGenerator<T> generator = build()) {
+        return generator.generate(items);
+      }
     }
   }
 
-  private CodeGenerator(Class<T> type, Function<T, Writer> output, Function<T, String> identifier, Function<T, String> renderer,
-      Predicate<T> skip, Consumer<T> onSkip) {
+  private CodeGenerator(Class<T> type, Function<T, Writer> output, BiFunction<T, String, Writer> renderedOutput,
+      Function<T, String> identifier, Renderer<T> renderer, Predicate<T> skip, Consumer<T> onSkip, int parallelism) {
     this.type = type;
     this.output = output != null ? output : new SystemOutput<T>().getFunction();
+    this.renderedOutput = output != null ? renderedOutput : null;
     this.identifier = identifier != null ? identifier
         : Identifiers.findIdentifier(type).map(Identifier::getFunction).orElse(o -> String.valueOf(o.hashCode()));
     this.renderer = renderer != null ? renderer
-        : Renderers.findRenderer(type).map(Renderer::getFunction)
+        : Renderers.findRenderer(type)
             .orElseThrow(() -> new IllegalStateException("Renderer should not be null."));
     this.skip = skip != null ? skip : Predicates.distinct(t -> this.identifier.apply(t));
     this.onSkip = onSkip != null ? onSkip : ignore;
+    this.parallelism = parallelism;
   }
 
   public static <T> Builder<T> newGenerator(Class<T> type) {
@@ -128,7 +176,62 @@ public class CodeGenerator<T> {
     //Function like skip, onSkip, writer etc may need to access the specified Identifier.
     //So, let's wrap all code that may need the identifier into a lambda and ensure that the Identifiers is accessible to the lambda
     //using Indentifiers.getIdentifier().
-    return Identifiers.withIdentifier(identifier).call(() -> {
+    return Identifiers.withIdentifier(identifier)
+        .call(() -> parallelism > 1 && items.length > 1 ? generateInParallel(items) : generateInSequence(items));
+  }
+
+  /**
+   * Stops the rendering threads, if any were started.
+   * The generator can still be used afterwards, new threads are started when needed.
+   */
+  @Override
+  public synchronized void close() {
+    if (executor != null) {
+      executor.shutdown();
+      executor = null;
+    }
+  }
+
+  private synchronized ExecutorService getExecutor() {
+    if (executor == null) {
+      //Idle threads time out, so that a generator that is never closed doesn't keep them around.
+      ThreadPoolExecutor pool = new ThreadPoolExecutor(parallelism, parallelism, 60L, TimeUnit.SECONDS,
+          new LinkedBlockingQueue<>(), DAEMON_THREADS);
+      pool.allowCoreThreadTimeOut(true);
+      executor = pool;
+    }
+    return executor;
+  }
+
+  private boolean generateInSequence(T[] items) {
+    for (T item : items) {
+      String id = identifier.apply(item);
+      if (skip.test(item)) {
+        onSkip.accept(item);
+        continue;
+      }
+      //Only generate each file once ...
+      if (generated.contains(id)) {
+        continue;
+      }
+      try {
+        write(item);
+        generated.add(id);
+      } catch (IOException e) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean generateInParallel(T[] items) {
+    //Keep a bounded number of rendered items in memory, waiting to be written.
+    int capacity = 2 * parallelism;
+    Deque<Rendering<T>> pending = new ArrayDeque<>(capacity);
+    //The items of this call that are being rendered, ids are only added to generated once their item is written.
+    Set<String> queued = new HashSet<>();
+    ExecutorService executor = getExecutor();
+    try {
       for (T item : items) {
         String id = identifier.apply(item);
         if (skip.test(item)) {
@@ -136,18 +239,109 @@ public class CodeGenerator<T> {
           continue;
         }
         //Only generate each file once ...
-        if (generated.contains(id)) {
+        if (generated.contains(id) || !queued.add(id)) {
           continue;
         }
-        try (Writer writer = output.apply(item)) {
-          writer.write(renderer.apply(item));
-          generated.add(id);
-        } catch (IOException e) {
+        if (pending.size() == capacity && !writeNext(pending)) {
+          return false;
+        }
+        //Workers don't see the scopes of the calling thread (e.g. the repository and the identifier), so they are captured.
+        pending.add(new Rendering<>(item, id, executor.submit(Scope.wrap(() -> render(item)))));
+      }
+      while (!pending.isEmpty()) {
+        if (!writeNext(pending)) {
           return false;
         }
       }
       return true;
-    });
+    } finally {
+      pending.forEach(r -> r.content.cancel(true));
+    }
+  }
+
+  private boolean writeNext(Deque<Rendering<T>> pending) {
+    Rendering<T> next = pending.poll();
+    String content;
+    try {
+      content = next.content.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw SundrException.launderThrowable(e);
+    } catch (ExecutionException e) {
+      throw SundrException.launderThrowable(e.getCause());
+    }
 
+    try {
+      write(next.item, content);
+      generated.add(next.id);
+      return true;
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  private String render(T item) {
+    long start = Metrics.start();
+    try {
+      return renderer.render(item);
+    } finally {
+      Metrics.stop("render", start);
+    }
+  }
+
+  private void write(T item, String content) throws IOException {
+    long start = Metrics.start();
+    try (Writer writer = renderedOutput != null ? renderedOutput.apply(item, content) : output.apply(item)) {
+      writer.write(content);
+    } finally {
+      Metrics.stop("write", start);
+    }
+  }
+
+  private void write(T item) throws IOException {
+    if (renderedOutput != null || Metrics.isEnabled()) {
+      //The output needs the rendered content, so render once and hand it over.
+      //When measuring, render up front too, so that rendering and writing are timed separately.
+      String content = render(item);
+      write(item, content);
+    } else {
+      try (Writer writer = output.apply(item)) {
+        renderer.render(item, writer);
+      }
+    }
+  }
+
+  private static class Rendering<T> {
+
+    private final T item;
+    private final String id;
+    private final Future<String> content;
+
+    private Rendering(T item, String id, Future<String> content) {
+      this.item = item;
+      this.id = id;
+      this.content = content;
+    }
+  }
+
+  private static class FunctionRenderer<T> implements Renderer<T> {
+
+    private final Class<T> type;
+    private final Function<T, String> function;
+
+    private FunctionRenderer(Class<T> type, Function<T, String> function) {
+      this.type = type;
+      this.function = function;
+    }
+
+    @Override
+    public Class<T> getType() {
+      return type;
+    }
+
+    @Override
+    public Function<T, String> getFunction() {
+      return function;
+    }
   }
 }
@@ -43,4 +43,11 @@ public class FileOutput<T> implements Output<T> {
       }
     };
   }
+
+  /**
+   * @return an output that leaves the file untouched, if its content is the same as the generated one.
+   */
+  public Output<T> skipUnchanged() {
+    return new SkipUnchangedOutput<>(this, t -> file.toPath());
+  }
 }
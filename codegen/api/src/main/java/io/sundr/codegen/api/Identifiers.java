@@ -18,26 +18,25 @@
 package io.sundr.codegen.api;
 
 import java.util.Optional;
-import java.util.ServiceLoader;
 import java.util.concurrent.Callable;
 import java.util.function.Function;
-import java.util.stream.StreamSupport;
 
+import io.sundr.Scope;
 import io.sundr.SundrException;
+import io.sundr.utils.Services;
 
 public class Identifiers {
 
-  private static Identifier SCOPE;
+  private static final Scope<Identifier> SCOPE = new Scope<>();
+  private static final Function<Class<?>, Identifier> IDENTIFIERS = Services.index(Identifier.class,
+      type -> i -> i.getType().isAssignableFrom(type));
 
   public static <T> Optional<Identifier<T>> findIdentifier(Class<T> type) {
-    return StreamSupport.stream(ServiceLoader.load(Identifier.class, Identifier.class.getClassLoader()).spliterator(), false)
-        .filter(r -> r.getType().isAssignableFrom(type))
-        .map(r -> (Identifier<T>) r)
-        .findFirst();
+    return Optional.ofNullable((Identifier<T>) IDENTIFIERS.apply(type));
   }
 
-  public static synchronized Identifier getIdentifier() {
-    return SCOPE;
+  public static Identifier getIdentifier() {
+    return SCOPE.get();
   }
 
   public static <T> WithIdentifier withIdentifier(final Function<T, String> identifier) {
@@ -66,25 +65,15 @@ public class Identifiers {
 
     private final Identifier identifier;
 
-    public synchronized <V> V apply(Function<Identifier, V> function) {
-      try {
-        SCOPE = identifier;
-        return function.apply(identifier);
-      } catch (Exception e) {
-        throw new SundrException(e);
-      } finally {
-        SCOPE = null;
-      }
+    public <V> V apply(Function<Identifier, V> function) {
+      return call(() -> function.apply(identifier));
     }
 
-    public synchronized <V> V call(Callable<V> callable) {
+    public <V> V call(Callable<V> callable) {
       try {
-        SCOPE = identifier;
-        return callable.call();
+        return SCOPE.call(identifier, callable);
       } catch (Exception e) {
         throw new SundrException(e);
-      } finally {
-        SCOPE = null;
       }
     }
   }
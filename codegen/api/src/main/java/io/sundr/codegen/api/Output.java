@@ -18,6 +18,8 @@
 package io.sundr.codegen.api;
 
 import java.io.Writer;
+import java.util.Optional;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 
 @FunctionalInterface
@@ -28,4 +30,15 @@ public interface Output<T> {
   default Writer create(T item) {
     return getFunction().apply(item);
   }
+
+  /**
+   * Outputs that can only tell where an item goes by looking at its rendered content, should provide a function that
+   * receives the already rendered content along with the item. This allows the {@link CodeGenerator} to render each item
+   * once and hand the result over, instead of having the output render it again.
+   *
+   * @return the optional function that creates the {@link Writer} for the rendered item.
+   */
+  default Optional<BiFunction<T, String, Writer>> getRenderedFunction() {
+    return Optional.empty();
+  }
 }
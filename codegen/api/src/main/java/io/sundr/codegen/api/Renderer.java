@@ -17,6 +17,7 @@
 
 package io.sundr.codegen.api;
 
+import java.io.IOException;
 import java.util.function.Function;
 
 /**
@@ -42,4 +43,17 @@ public interface Renderer<T> {
   default String render(T item) {
     return getFunction().apply(item);
   }
+
+  /**
+   * The streaming rendering method.
+   * Renderers that can write directly into the output should override this method, so that the rendered item is never
+   * materialized as a whole.
+   *
+   * @param item the item to render
+   * @param out the {@link Appendable} to render the item into.
+   * @throws IOException if the {@link Appendable} fails.
+   */
+  default void render(T item, Appendable out) throws IOException {
+    out.append(render(item));
+  }
 }
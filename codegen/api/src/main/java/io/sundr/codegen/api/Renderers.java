@@ -18,15 +18,16 @@
 package io.sundr.codegen.api;
 
 import java.util.Optional;
-import java.util.ServiceLoader;
-import java.util.stream.StreamSupport;
+import java.util.function.Function;
+
+import io.sundr.utils.Services;
 
 public class Renderers {
 
+  private static final Function<Class<?>, Renderer> RENDERERS = Services.index(Renderer.class,
+      type -> r -> r.getType().isAssignableFrom(type));
+
   public static <T> Optional<Renderer<T>> findRenderer(Class<T> type) {
-    return StreamSupport.stream(ServiceLoader.load(Renderer.class, Renderer.class.getClassLoader()).spliterator(), false)
-        .filter(r -> r.getType().isAssignableFrom(type))
-        .map(r -> (Renderer<T>) r)
-        .findFirst();
+    return Optional.ofNullable((Renderer<T>) RENDERERS.apply(type));
   }
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.codegen.api;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * An {@link Output} decorator that only writes to the decorated output, when the content differs from what's already on disk.
+ * The content is compared byte by byte, so unchanged files keep their timestamps and are not picked up by incremental
+ * compilation.
+ * Not meant for outputs backed by an annotation processing {@link javax.annotation.processing.Filer}: a file that is not
+ * created through the Filer during a round is not registered as generated, and may be deleted by incremental builds.
+ *
+ * @param <T> the type of the generated items.
+ */
+public class SkipUnchangedOutput<T> implements Output<T> {
+
+  private static final int BUFFER_SIZE = 8192;
+
+  private final Output<T> delegate;
+  private final Function<T, Path> target;
+  private final Charset charset;
+
+  /**
+   * @param delegate the output to decorate.
+   * @param target the function that returns the file the decorated output writes the item to.
+   */
+  public SkipUnchangedOutput(Output<T> delegate, Function<T, Path> target) {
+    this(delegate, target, Charset.defaultCharset());
+  }
+
+  /**
+   * @param delegate the output to decorate.
+   * @param target the function that returns the file the decorated output writes the item to.
+   * @param charset the charset the decorated output uses.
+   */
+  public SkipUnchangedOutput(Output<T> delegate, Function<T, Path> target, Charset charset) {
+    this.delegate = delegate;
+    this.target = target;
+    this.charset = charset;
+  }
+
+  @Override
+  public Function<T, Writer> getFunction() {
+    return item -> new BufferedContent(content -> {
+      if (!isUnchanged(item, content)) {
+        write(delegate.create(item), content);
+      }
+    });
+  }
+
+  @Override
+  public Optional<BiFunction<T, String, Writer>> getRenderedFunction() {
+    //The content is known upfront, so there's no need to buffer it.
+    return delegate.getRenderedFunction()
+        .map(f -> (item, content) -> isUnchanged(item, content) ? new StringWriter() : f.apply(item, content));
+  }
+
+  private boolean isUnchanged(T item, String content) {
+    Path path = target.apply(item);
+    if (path == null || !Files.isRegularFile(path)) {
+      return false;
+    }
+
+    byte[] bytes = content.getBytes(charset);
+    try {
+      if (Files.size(path) != bytes.length) {
+        return false;
+      }
+      try (InputStream is = Files.newInputStream(path)) {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int offset = 0;
+        for (int read = is.read(buffer); read != -1; read = is.read(buffer)) {
+          if (offset + read > bytes.length) {
+            return false;
+          }
+          for (int i = 0; i < read; i++) {
+            if (buffer[i] != bytes[offset + i]) {
+              return false;
+            }
+          }
+          offset += read;
+        }
+        return offset == bytes.length;
+      }
+    } catch (IOException e) {
+      //If we can't tell, just write.
+      return false;
+    }
+  }
+
+  private static void write(Writer writer, String content) throws IOException {
+    try (Writer w = writer) {
+      w.write(content);
+    }
+  }
+
+  @FunctionalInterface
+  private interface ContentConsumer {
+    void accept(String content) throws IOException;
+  }
+
+  /**
+   * Collects the content, and hands it over when closed.
+   */
+  private static class BufferedContent extends StringWriter {
+
+    private final ContentConsumer consumer;
+    private boolean closed;
+
+    private BufferedContent(ContentConsumer consumer) {
+      this.consumer = consumer;
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      consumer.accept(toString());
+    }
+  }
+}
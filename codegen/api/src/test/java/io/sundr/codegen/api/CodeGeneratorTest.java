@@ -0,0 +1,109 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.codegen.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+public class CodeGeneratorTest {
+
+  @Test
+  public void testParallelGenerationKeepsOrder() {
+    List<String> written = new ArrayList<>();
+    Integer[] items = IntStream.range(0, 100).map(i -> i % 50).boxed().toArray(Integer[]::new);
+
+    boolean result = CodeGenerator.newGenerator(Integer.class)
+        .withIdentifier(String::valueOf)
+        .withRenderer(i -> "item-" + i)
+        .skipping(i -> i % 10 == 0)
+        .withOutput(i -> new StringWriter() {
+          @Override
+          public void close() {
+            written.add(toString());
+          }
+        })
+        .withParallelism(4)
+        .build()
+        .generate(items);
+
+    assertTrue(result);
+    //Items are written once, in order and without the skipped ones.
+    List<String> expected = new ArrayList<>();
+    IntStream.range(0, 50).filter(i -> i % 10 != 0).forEach(i -> expected.add("item-" + i));
+    assertEquals(expected, written);
+  }
+
+  @Test
+  public void testParallelGenerationReusesThreads() {
+    Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    try (CodeGenerator<Integer> generator = CodeGenerator.newGenerator(Integer.class)
+        .withIdentifier(String::valueOf)
+        .withRenderer(i -> {
+          threads.add(Thread.currentThread());
+          return "item-" + i;
+        })
+        .skipping(i -> false)
+        .withOutput(i -> new StringWriter())
+        .withParallelism(2)
+        .build()) {
+      for (int i = 0; i < 10; i++) {
+        assertTrue(generator.generate(2 * i, 2 * i + 1));
+      }
+    }
+    assertTrue(threads.size() <= 2);
+    assertFalse(threads.contains(Thread.currentThread()));
+  }
+
+  @Test
+  public void testParallelGenerationRetriesFailedWrites() {
+    List<String> written = new ArrayList<>();
+    Set<Integer> failing = ConcurrentHashMap.newKeySet();
+    failing.add(1);
+    try (CodeGenerator<Integer> generator = CodeGenerator.newGenerator(Integer.class)
+        .withIdentifier(String::valueOf)
+        .withRenderer(i -> "item-" + i)
+        .skipping(i -> false)
+        .withOutput(i -> new StringWriter() {
+          @Override
+          public void close() throws IOException {
+            if (failing.remove(i)) {
+              throw new IOException("Failed to write item-" + i);
+            }
+            written.add(toString());
+          }
+        })
+        .withParallelism(2)
+        .build()) {
+      assertFalse(generator.generate(0, 1, 2));
+      //The item that failed to be written is generated again.
+      assertTrue(generator.generate(0, 1, 2));
+    }
+    assertEquals(Arrays.asList("item-0", "item-1", "item-2"), written);
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.codegen.api;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SkipUnchangedOutputTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testSkipUnchanged() throws Exception {
+    File file = folder.newFile("generated.txt");
+    Files.write(file.toPath(), "same".getBytes(StandardCharsets.UTF_8));
+    long timestamp = file.lastModified() - 10000;
+    file.setLastModified(timestamp);
+
+    generate(file, "same");
+    assertEquals(timestamp, file.lastModified());
+
+    generate(file, "sane");
+    assertEquals("sane", new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+
+    generate(file, "other");
+    assertEquals("other", new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+  }
+
+  private static void generate(File file, String content) {
+    CodeGenerator.newGenerator(String.class)
+        .withOutput(new SkipUnchangedOutput<>(new FileOutput<String>(file), s -> file.toPath(), StandardCharsets.UTF_8))
+        .withRenderer(s -> s)
+        .skipping(s -> false)
+        .generate(content);
+  }
+}
@@ -19,9 +19,10 @@ package io.sundr.codegen.apt;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.StringWriter;
 import java.io.Writer;
 import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 
 import javax.annotation.processing.Filer;
@@ -40,7 +41,7 @@ public class TypeDefAptOutput implements Output<TypeDef> {
 
   private final Filer filer;
   private final Renderer<TypeDef> renderer;
-  private final static StringWriter DEV_NULL = new StringWriter();
+  private final static Writer DEV_NULL = new NullWriter();
 
   public TypeDefAptOutput(Filer filer) {
     this(filer, new TypeDefRenderer());
@@ -54,20 +55,83 @@ public class TypeDefAptOutput implements Output<TypeDef> {
   @Override
   public Function<TypeDef, Writer> getFunction() {
     return type -> {
-      try {
-        String rendered = renderer.render(type);
-        String pkg = Types.parsePackage(rendered).orElse("");
-        String name = Types.parseName(rendered)
-            .orElseThrow(() -> new IllegalStateException("Cannot extract fully qualified name from generated code."));
-        String fqcn = Strings.isNullOrEmpty(pkg) ? name : pkg + "." + name;
-
-        FileObject fileObject = filer.getResource(StandardLocation.SOURCE_OUTPUT, pkg, name + ".java");
-        File file = Paths.get(fileObject.toUri()).toFile();
-        //If file exists just send output to /dev/null
-        return file.exists() ? DEV_NULL : filer.createSourceFile(fqcn).openWriter();
-      } catch (IOException e) {
-        throw SundrException.launderThrowable(e);
+      if (isRenderedAsIs(type)) {
+        //The rendered code declares exactly the type, so there's no need to render it to find out its name.
+        return create(Strings.isNullOrEmpty(type.getPackageName()) ? "" : type.getPackageName(), type.getName());
       }
+      return create(renderer.render(type));
     };
   }
+
+  @Override
+  public Optional<BiFunction<TypeDef, String, Writer>> getRenderedFunction() {
+    if (renderer.getClass() == TypeDefRenderer.class) {
+      return Optional.empty();
+    }
+    return Optional.of((type, rendered) -> create(rendered));
+  }
+
+  private boolean isRenderedAsIs(TypeDef type) {
+    return renderer.getClass() == TypeDefRenderer.class && type.getOuterTypeName() == null;
+  }
+
+  private Writer create(String rendered) {
+    String pkg = Types.parsePackage(rendered).orElse("");
+    String name = Types.parseName(rendered)
+        .orElseThrow(() -> new IllegalStateException("Cannot extract fully qualified name from generated code."));
+    return create(pkg, name);
+  }
+
+  private Writer create(String pkg, String name) {
+    try {
+      String fqcn = Strings.isNullOrEmpty(pkg) ? name : pkg + "." + name;
+      FileObject fileObject = filer.getResource(StandardLocation.SOURCE_OUTPUT, pkg, name + ".java");
+      File file = Paths.get(fileObject.toUri()).toFile();
+      //If file exists just send output to /dev/null
+      return file.exists() ? DEV_NULL : filer.createSourceFile(fqcn).openWriter();
+    } catch (IOException e) {
+      throw SundrException.launderThrowable(e);
+    }
+  }
+
+  /**
+   * A {@link Writer} that discards everything written to it. Being stateless, it can be shared across threads.
+   */
+  private static final class NullWriter extends Writer {
+
+    @Override
+    public void write(int c) {
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) {
+    }
+
+    @Override
+    public void write(String str, int off, int len) {
+    }
+
+    @Override
+    public Writer append(CharSequence csq) {
+      return this;
+    }
+
+    @Override
+    public Writer append(CharSequence csq, int start, int end) {
+      return this;
+    }
+
+    @Override
+    public Writer append(char c) {
+      return this;
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+  }
 }
@@ -16,12 +16,26 @@
 
 package io.sundr.codegen.apt.processor;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 
 import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
 
+import io.sundr.Metrics;
 import io.sundr.adapter.api.AdapterContext;
+import io.sundr.adapter.apt.AdaptationDepth;
 import io.sundr.adapter.apt.AptContext;
 import io.sundr.codegen.api.CodeGenerator;
 import io.sundr.codegen.apt.TypeDefAptOutput;
@@ -30,26 +44,153 @@ import io.sundr.model.repo.DefinitionRepository;
 
 public abstract class AbstractCodeGeneratingProcessor extends AbstractProcessor {
 
+  /**
+   * Enables collection of phase timings and counters, which are reported when processing is over.
+   */
+  public static final String METRICS_OPTION = "sundrio.metrics";
+  /**
+   * The file to write the collected metrics to, as JSON.
+   * Each processor collects and writes its own metrics, so when several processors collect metrics in the same
+   * compilation, the file holds the metrics of the last one to finish.
+   */
+  public static final String METRICS_FILE_OPTION = "sundrio.metrics.file";
+  /**
+   * The number of threads used to render the types generated in a batch. Defaults to 1.
+   * Only rendering runs on these threads. The types are created on the processor thread, as creating them may call into
+   * javac (e.g. to resolve definitions lazily) and registers types that are visible to the types created after them.
+   */
+  public static final String PARALLELISM_OPTION = "sundrio.parallelism";
+  /**
+   * How deep the types referenced by the processed types are adapted, either header (the default) or full.
+   */
+  public static final String ADAPTATION_DEPTH_OPTION = "sundrio.adaptation.depth";
+
   private final AtomicReference<AptContext> context = new AtomicReference<>();
   protected CodeGenerator generator;
+  //Types are only queued while a batch is open, otherwise they are generated right away.
+  private List<TypeDef> batch;
+  //The metrics of this processor, if requested. They are bound to the processing thread, while a round is processed.
+  private Metrics metrics;
 
   @Override
   public synchronized void init(ProcessingEnvironment processingEnv) {
     super.init(processingEnv);
+    if (Boolean.parseBoolean(processingEnv.getOptions().get(METRICS_OPTION))) {
+      metrics = new Metrics();
+    }
     context.set(AptContext.create(processingEnv.getElementUtils(), processingEnv.getTypeUtils(),
-        DefinitionRepository.createRepository()));
+        DefinitionRepository.createRepository(), getAdaptationDepth(processingEnv)));
 
     generator = CodeGenerator.newGenerator(TypeDef.class)
         .withOutput(new TypeDefAptOutput(processingEnv.getFiler()))
         .skipping(AbstractCodeGeneratingProcessor::classExists)
+        .withParallelism(getParallelism(processingEnv))
         .build();
   }
 
+  @Override
+  public Set<String> getSupportedOptions() {
+    Set<String> options = new HashSet<>(super.getSupportedOptions());
+    options.add(METRICS_OPTION);
+    options.add(METRICS_FILE_OPTION);
+    options.add(PARALLELISM_OPTION);
+    options.add(ADAPTATION_DEPTH_OPTION);
+    return options;
+  }
+
+  /**
+   * Processes a round using {@link #processRound(Set, RoundEnvironment)}, recording to the metrics of this processor, if
+   * metrics were requested.
+   */
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment env) {
+    if (metrics == null) {
+      return processRound(annotations, env);
+    }
+    return Metrics.withMetrics(metrics).call(() -> processRound(annotations, env));
+  }
+
+  /**
+   * Processes a round, see {@link javax.annotation.processing.Processor#process(Set, RoundEnvironment)}.
+   *
+   * @param annotations the annotation types requested to be processed.
+   * @param env environment for information about the current and prior round.
+   * @return whether or not the set of annotation types are claimed by this processor.
+   */
+  protected boolean processRound(Set<? extends TypeElement> annotations, RoundEnvironment env) {
+    return false;
+  }
+
+  /**
+   * Stops the rendering threads of the generator and reports the collected metrics.
+   * Processors should call this method once, when processing is over.
+   */
+  protected void processingOver() {
+    if (generator != null) {
+      generator.close();
+    }
+    reportMetrics();
+  }
+
+  /**
+   * Reports the collected metrics and stops collecting them, if metrics were requested.
+   */
+  private void reportMetrics() {
+    if (metrics == null) {
+      return;
+    }
+    Metrics reported = metrics;
+    metrics = null;
+    processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, getClass().getSimpleName() + ": " + reported.summary());
+    String file = processingEnv.getOptions().get(METRICS_FILE_OPTION);
+    if (file != null && !file.isEmpty()) {
+      Path path = Paths.get(file);
+      try {
+        if (path.getParent() != null) {
+          Files.createDirectories(path.getParent());
+        }
+        Files.write(path, reported.toJson().getBytes(StandardCharsets.UTF_8));
+      } catch (IOException e) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+            "Failed to write sundrio metrics to: " + file + ". " + e.getMessage());
+      }
+    }
+  }
+
   public void generate(TypeDef type) {
     if (generator == null) {
       throw new IllegalStateException("CodeGenerator instance shoud not be null.");
     }
-    generator.generate(type);
+    if (batch != null) {
+      batch.add(type);
+    } else {
+      generator.generate(type);
+    }
+  }
+
+  /**
+   * Runs the specified action, collecting all the types it generates and handing them to the generator at once.
+   * This allows the generator to render the whole batch in parallel (see {@link #PARALLELISM_OPTION}), while the
+   * files are still written in order, on the calling thread. The action itself always runs on the calling thread.
+   *
+   * @param action the action that generates the types.
+   */
+  protected void generateInBatch(Runnable action) {
+    if (batch != null) {
+      action.run();
+      return;
+    }
+    batch = new ArrayList<>();
+    try {
+      action.run();
+      if (!batch.isEmpty()) {
+        TypeDef[] types = batch.toArray(new TypeDef[batch.size()]);
+        batch = null;
+        generator.generate(types);
+      }
+    } finally {
+      batch = null;
+    }
   }
 
   public AptContext getAptContext() {
@@ -64,6 +205,34 @@ public abstract class AbstractCodeGeneratingProcessor extends AbstractProcessor
     return getAdapterContext().getDefinitionRepository();
   }
 
+  private static int getParallelism(ProcessingEnvironment processingEnv) {
+    String value = processingEnv.getOptions().get(PARALLELISM_OPTION);
+    if (value == null || value.isEmpty()) {
+      return 1;
+    }
+    try {
+      return Math.max(1, Integer.parseInt(value.trim()));
+    } catch (NumberFormatException e) {
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+          "Ignoring invalid value for " + PARALLELISM_OPTION + ": " + value + ".");
+      return 1;
+    }
+  }
+
+  private static AdaptationDepth getAdaptationDepth(ProcessingEnvironment processingEnv) {
+    String value = processingEnv.getOptions().get(ADAPTATION_DEPTH_OPTION);
+    if (value == null || value.isEmpty()) {
+      return AdaptationDepth.HEADER;
+    }
+    try {
+      return AdaptationDepth.parse(value);
+    } catch (IllegalArgumentException e) {
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+          "Ignoring invalid value for " + ADAPTATION_DEPTH_OPTION + ": " + value + ".");
+      return AdaptationDepth.HEADER;
+    }
+  }
+
   /**
    * Checks if class already exists.
    * 
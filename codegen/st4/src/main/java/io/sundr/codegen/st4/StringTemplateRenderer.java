@@ -27,6 +27,7 @@ import java.util.function.Function;
 import org.stringtemplate.v4.*;
 
 import io.sundr.SundrException;
+import io.sundr.codegen.template.TemplateCache;
 import io.sundr.codegen.template.TemplateRenderer;
 
 public class StringTemplateRenderer<T> extends TemplateRenderer<T> {
@@ -35,14 +36,25 @@ public class StringTemplateRenderer<T> extends TemplateRenderer<T> {
   private static final String MODEL = "model";
   private static final String PARAMETERS = "parameters";
 
-  private final String templateContent;
+  private static final TemplateCache<ST> TEMPLATES = new TemplateCache<>();
+
+  private final ST template;
   private final String[] parameters;
 
   public StringTemplateRenderer(String templateContent, String... parameters) {
-    this.templateContent = templateContent;
+    this.template = TEMPLATES.get(templateContent, StringTemplateRenderer::compile);
+    this.parameters = parameters;
+  }
+
+  private StringTemplateRenderer(URL templateUrl, String templateContent, String[] parameters) {
+    this.template = TEMPLATES.get(templateUrl.toExternalForm(), templateContent, StringTemplateRenderer::compile);
     this.parameters = parameters;
   }
 
+  private static ST compile(String templateContent) {
+    return new ST(templateContent, '$', '$');
+  }
+
   public static Optional<StringTemplateRenderer<?>> fromTemplate(String templateContent, String... parameters) {
     return Optional.of(new StringTemplateRenderer<>(templateContent, parameters));
   }
@@ -52,7 +64,7 @@ public class StringTemplateRenderer<T> extends TemplateRenderer<T> {
       if (templateUrl == null) {
         return Optional.empty();
       }
-      return fromTemplate(loadResource(templateUrl), parameters);
+      return Optional.of(new StringTemplateRenderer<>(templateUrl, loadResource(templateUrl), parameters));
     } catch (IOException e) {
       throw SundrException.launderThrowable(e);
     }
@@ -70,8 +82,8 @@ public class StringTemplateRenderer<T> extends TemplateRenderer<T> {
   @Override
   public Function<T, String> getFunction() {
     return item -> {
-      ST st = new ST(templateContent, '$', '$');
-      System.out.println("MODEL:" + item);
+      //The template is compiled once, instances share the compiled template and only hold their own attributes.
+      ST st = new ST(template);
       st.add(MODEL, item);
       st.add(PARAMETERS, parameters);
       return st.render();
@@ -19,12 +19,22 @@ package io.sundr.codegen.st4;
 
 import static org.junit.Assert.assertEquals;
 
+import java.io.File;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import io.sundr.model.TypeDef;
 
 public class StringTemplateRendererTest {
 
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
   @Test
   public void testStringTemplateRenderer() throws Exception {
     StringTemplateRenderer<TypeDef> renderer = new StringTemplateRenderer<>("$model.fullyQualifiedName$");
@@ -32,4 +42,20 @@ public class StringTemplateRendererTest {
     String result = renderer.render(string);
     assertEquals(String.class.getName(), result);
   }
+
+  @Test
+  public void testTemplateUrlWithChangedContent() throws Exception {
+    TypeDef string = TypeDef.forName(String.class.getName());
+    File file = folder.newFile("template.tpl");
+    URL url = file.toURI().toURL();
+
+    Files.write(file.toPath(), "$model.name$".getBytes(StandardCharsets.UTF_8));
+    StringTemplateRenderer<TypeDef> renderer = (StringTemplateRenderer<TypeDef>) StringTemplateRenderer.fromTemplateUrl(url)
+        .get();
+    assertEquals("String", renderer.render(string));
+
+    Files.write(file.toPath(), "$model.packageName$".getBytes(StandardCharsets.UTF_8));
+    renderer = (StringTemplateRenderer<TypeDef>) StringTemplateRenderer.fromTemplateUrl(url).get();
+    assertEquals("java.lang", renderer.render(string));
+  }
 }
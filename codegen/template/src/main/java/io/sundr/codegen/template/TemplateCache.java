@@ -0,0 +1,95 @@
+/**
+ * Copyright 2015 The original authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+**/
+
+package io.sundr.codegen.template;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A bounded cache of compiled templates, that evicts the least recently used template when full.
+ * Templates are looked up by a key (e.g. the url of the template) and are compiled again when the content under the key
+ * changes, so that no stale template is used, when the same key points to new content.
+ *
+ * @param <V> the type of the compiled template.
+ */
+public final class TemplateCache<V> {
+
+  public static final int DEFAULT_MAX_SIZE = 64;
+
+  private final Map<String, Entry<V>> entries;
+
+  public TemplateCache() {
+    this(DEFAULT_MAX_SIZE);
+  }
+
+  public TemplateCache(int maxSize) {
+    this.entries = new LinkedHashMap<String, Entry<V>>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  /**
+   * Get the compiled template for the specified content, using the content as the key.
+   *
+   * @param content the content of the template.
+   * @param compile the function that compiles the content.
+   * @return the compiled template.
+   */
+  public V get(String content, Function<String, V> compile) {
+    return get(content, content, compile);
+  }
+
+  /**
+   * Get the compiled template for the specified key.
+   * If the cached template was compiled from different content, it is compiled again.
+   *
+   * @param key the key of the template.
+   * @param content the current content of the template.
+   * @param compile the function that compiles the content.
+   * @return the compiled template.
+   */
+  public V get(String key, String content, Function<String, V> compile) {
+    Entry<V> entry;
+    synchronized (entries) {
+      entry = entries.get(key);
+    }
+    if (entry != null && entry.content.equals(content)) {
+      return entry.template;
+    }
+    //Compile outside the lock, at worst the same template is compiled twice.
+    V template = compile.apply(content);
+    synchronized (entries) {
+      entries.put(key, new Entry<>(content, template));
+    }
+    return template;
+  }
+
+  private static final class Entry<V> {
+    private final String content;
+    private final V template;
+
+    private Entry(String content, V template) {
+      this.content = content;
+      this.template = template;
+    }
+  }
+}
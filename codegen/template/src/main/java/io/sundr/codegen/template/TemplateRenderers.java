@@ -19,18 +19,15 @@ package io.sundr.codegen.template;
 
 import java.net.URL;
 import java.util.Optional;
-import java.util.ServiceLoader;
-import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
+
+import io.sundr.utils.Services;
 
 public class TemplateRenderers {
 
   public static <T> Optional<TemplateRenderer<T>> getTemplateRenderer(Class<T> type, URL templateUrl, String... parameters) {
-    return stream().filter(f -> f.accepts(templateUrl)).map(f -> f.create(type, templateUrl, parameters)).findFirst();
-  }
-
-  private static Stream<TemplateRendererFactory> stream() {
-    return StreamSupport.stream(
-        ServiceLoader.load(TemplateRendererFactory.class, TemplateRendererFactory.class.getClassLoader()).spliterator(), false);
+    return Services.load(TemplateRendererFactory.class).stream()
+        .filter(f -> f.accepts(templateUrl))
+        .map(f -> f.create(type, templateUrl, parameters))
+        .findFirst();
   }
 }
@@ -21,6 +21,7 @@ import static io.sundr.utils.Strings.loadResource;
 
 import java.io.IOException;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.net.URL;
 import java.util.Optional;
 import java.util.function.Function;
@@ -38,6 +39,7 @@ import org.apache.velocity.runtime.resource.util.StringResourceRepository;
 import org.apache.velocity.util.introspection.UberspectImpl;
 
 import io.sundr.SundrException;
+import io.sundr.codegen.template.TemplateCache;
 import io.sundr.codegen.template.TemplateRenderer;
 
 public class VelocityRenderer<T> extends TemplateRenderer<T> {
@@ -46,37 +48,69 @@ public class VelocityRenderer<T> extends TemplateRenderer<T> {
   private static final String MODEL = "model";
   private static final String PARAMETERS = "parameters";
 
-  private final StringResourceRepository repo;
-  private final VelocityEngine velocityEngine;
+  private static final TemplateCache<Template> TEMPLATES = new TemplateCache<>();
+
   private final Template template;
   private final String[] parameters;
 
   public VelocityRenderer(String templateContent, String... parameters) {
     this.parameters = parameters;
-    this.velocityEngine = new VelocityEngine();
-    this.velocityEngine.setProperty(RuntimeConstants.RESOURCE_LOADER, "string");
-    this.velocityEngine.setProperty("string.resource.loader.class", StringResourceLoader.class.getName());
-    //We are going to use shading so we need to make sure that the following configuration will be shade friendly...
-    this.velocityEngine.setProperty(RuntimeConstants.RESOURCE_MANAGER_CLASS, ResourceManagerImpl.class.getName());
-    this.velocityEngine.setProperty(RuntimeConstants.RESOURCE_MANAGER_CACHE_CLASS, ResourceCacheImpl.class.getName());
-    this.velocityEngine.setProperty(RuntimeConstants.PARSER_POOL_CLASS, ParserPoolImpl.class.getName());
-    this.velocityEngine.setProperty(RuntimeConstants.UBERSPECT_CLASSNAME, UberspectImpl.class.getName());
-    this.velocityEngine.setProperty("runtime.log.logsystem.class", SystemLogChute.class.getName());
-
-    ClassLoader current = Thread.currentThread().getContextClassLoader();
-    try {
-      Thread.currentThread().setContextClassLoader(VelocityEngine.class.getClassLoader());
-      this.velocityEngine.init();
-
-      this.repo = StringResourceLoader.getRepository();
-      this.repo.putStringResource(TEMPLATE, templateContent);
-      //Load standard directives
-      DirectiveProviders.listDirectives().forEach(velocityEngine::loadDirective);
-    } finally {
-      Thread.currentThread().setContextClassLoader(current);
+    this.template = TEMPLATES.get(templateContent, VelocityRenderer::parse);
+  }
+
+  private VelocityRenderer(URL templateUrl, String templateContent, String[] parameters) {
+    this.parameters = parameters;
+    this.template = TEMPLATES.get(templateUrl.toExternalForm(), templateContent, VelocityRenderer::parse);
+  }
+
+  /**
+   * Parse the specified content, using a single engine that is shared by all renderers.
+   * The content is only kept in the string repository while being parsed, as the parsed template is cached by the renderer.
+   *
+   * @param templateContent the content of the template.
+   * @return the parsed template.
+   */
+  private static Template parse(String templateContent) {
+    synchronized (Engine.REPOSITORY) {
+      Engine.REPOSITORY.putStringResource(TEMPLATE, templateContent);
+      try {
+        return Engine.INSTANCE.getTemplate(TEMPLATE);
+      } finally {
+        Engine.REPOSITORY.removeStringResource(TEMPLATE);
+      }
     }
+  }
 
-    this.template = this.velocityEngine.getTemplate(TEMPLATE);
+  /**
+   * Holds the engine, so that it's only initialized when first needed.
+   */
+  private static final class Engine {
+
+    private static final VelocityEngine INSTANCE = new VelocityEngine();
+    private static final StringResourceRepository REPOSITORY;
+
+    static {
+      INSTANCE.setProperty(RuntimeConstants.RESOURCE_LOADER, "string");
+      INSTANCE.setProperty("string.resource.loader.class", StringResourceLoader.class.getName());
+      //We are going to use shading so we need to make sure that the following configuration will be shade friendly...
+      INSTANCE.setProperty(RuntimeConstants.RESOURCE_MANAGER_CLASS, ResourceManagerImpl.class.getName());
+      INSTANCE.setProperty(RuntimeConstants.RESOURCE_MANAGER_CACHE_CLASS, ResourceCacheImpl.class.getName());
+      INSTANCE.setProperty(RuntimeConstants.PARSER_POOL_CLASS, ParserPoolImpl.class.getName());
+      INSTANCE.setProperty(RuntimeConstants.UBERSPECT_CLASSNAME, UberspectImpl.class.getName());
+      INSTANCE.setProperty("runtime.log.logsystem.class", SystemLogChute.class.getName());
+
+      ClassLoader current = Thread.currentThread().getContextClassLoader();
+      try {
+        Thread.currentThread().setContextClassLoader(VelocityEngine.class.getClassLoader());
+        INSTANCE.init();
+
+        REPOSITORY = StringResourceLoader.getRepository();
+        //Load standard directives
+        DirectiveProviders.listDirectives().forEach(INSTANCE::loadDirective);
+      } finally {
+        Thread.currentThread().setContextClassLoader(current);
+      }
+    }
   }
 
   public static Optional<VelocityRenderer<?>> fromTemplate(String templateContent, String... parameters) {
@@ -92,7 +126,7 @@ public class VelocityRenderer<T> extends TemplateRenderer<T> {
       if (templateUrl == null) {
         return Optional.empty();
       }
-      return fromTemplate(loadResource(templateUrl), parameters);
+      return Optional.of(new VelocityRenderer<>(templateUrl, loadResource(templateUrl), parameters));
     } catch (IOException e) {
       throw SundrException.launderThrowable(e);
     }
@@ -103,7 +137,7 @@ public class VelocityRenderer<T> extends TemplateRenderer<T> {
       if (templateUrl == null) {
         return Optional.empty();
       }
-      return fromTemplate(loadResource(templateUrl), type, parameters);
+      return Optional.of(new VelocityRenderer<T>(templateUrl, loadResource(templateUrl), parameters));
     } catch (IOException e) {
       throw SundrException.launderThrowable(e);
     }
@@ -126,11 +160,8 @@ public class VelocityRenderer<T> extends TemplateRenderer<T> {
   @Override
   public Function<T, String> getFunction() {
     return item -> {
-      VelocityContext velocityContext = new VelocityContext();
       try (StringWriter writer = new StringWriter()) {
-        velocityContext.put(MODEL, item);
-        velocityContext.put(PARAMETERS, parameters);
-        template.merge(velocityContext, writer);
+        merge(item, writer);
         writer.flush();
         return writer.toString();
       } catch (IOException e) {
@@ -138,4 +169,20 @@ public class VelocityRenderer<T> extends TemplateRenderer<T> {
       }
     };
   }
+
+  @Override
+  public void render(T item, Appendable out) throws IOException {
+    if (out instanceof Writer) {
+      merge(item, (Writer) out);
+    } else {
+      super.render(item, out);
+    }
+  }
+
+  private void merge(T item, Writer writer) {
+    VelocityContext velocityContext = new VelocityContext();
+    velocityContext.put(MODEL, item);
+    velocityContext.put(PARAMETERS, parameters);
+    template.merge(velocityContext, writer);
+  }
 }
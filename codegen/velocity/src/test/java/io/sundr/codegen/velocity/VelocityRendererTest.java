@@ -19,12 +19,22 @@ package io.sundr.codegen.velocity;
 
 import static org.junit.Assert.assertEquals;
 
+import java.io.File;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import io.sundr.model.TypeDef;
 
 public class VelocityRendererTest {
 
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
   @Test
   public void testVelocityRendererInline() throws Exception {
     VelocityRenderer<TypeDef> renderer = new VelocityRenderer<>("${model.getFullyQualifiedName()}");
@@ -42,4 +52,19 @@ public class VelocityRendererTest {
       assertEquals(String.class.getName(), result);
     });
   }
+
+  @Test
+  public void testTemplateUrlWithChangedContent() throws Exception {
+    TypeDef string = TypeDef.forName(String.class.getName());
+    File file = folder.newFile("template.tpl");
+    URL url = file.toURI().toURL();
+
+    Files.write(file.toPath(), "${model.getName()}".getBytes(StandardCharsets.UTF_8));
+    VelocityRenderer<TypeDef> renderer = VelocityRenderer.fromTemplateUrl(url, TypeDef.class).get();
+    assertEquals("String", renderer.render(string));
+
+    Files.write(file.toPath(), "${model.getPackageName()}".getBytes(StandardCharsets.UTF_8));
+    renderer = VelocityRenderer.fromTemplateUrl(url, TypeDef.class).get();
+    assertEquals("java.lang", renderer.render(string));
+  }
 }
@@ -16,15 +16,22 @@
 
 package io.sundr;
 
-import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
 public class FunctionFactory<X, Y> implements Function<X, Y> {
 
+  /**
+   * The number of function factory invocations that are in progress in the current thread, across all factories.
+   */
+  private static final ThreadLocal<int[]> NESTING_DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
   private final Map<X, Y> cache;
   private final Function<X, Y> function;
   private final Function<X, Y> fallback;
@@ -32,79 +39,195 @@ public class FunctionFactory<X, Y> implements Function<X, Y> {
   private final int maximumRecursionLevel;
   private final int maximumNestingDepth;
 
-  private final Stack<X> ownStack;
-  private static final Stack globalStack = new Stack();
+  /**
+   * The number of invocations in progress for each item in the current thread.
+   */
+  private final ThreadLocal<Map<X, int[]>> recursionLevels;
+  private final Counters counters;
 
+  /**
+   * @deprecated Use {@link #cache(Function)} or {@link #wrap(Function)} along with the with* methods instead.
+   *             Recursion is now tracked per thread, so the specified stack is no longer used.
+   */
+  @Deprecated
   public FunctionFactory(Map<X, Y> cache, Function<X, Y> function, Function<X, Y> fallback, Predicate<X> fallbackPredicate,
       int maximumRecursionLevel, int maximumNestingDepth, Stack<X> ownStack) {
+    this(cache, function, fallback, fallbackPredicate, maximumRecursionLevel, maximumNestingDepth, newRecursionLevels(),
+        new Counters());
+  }
+
+  private FunctionFactory(Map<X, Y> cache, Function<X, Y> function, Function<X, Y> fallback, Predicate<X> fallbackPredicate,
+      int maximumRecursionLevel, int maximumNestingDepth, ThreadLocal<Map<X, int[]>> recursionLevels, Counters counters) {
     this.cache = cache;
     this.function = function;
     this.fallback = fallback;
     this.fallbackPredicate = fallbackPredicate;
     this.maximumRecursionLevel = maximumRecursionLevel;
     this.maximumNestingDepth = maximumNestingDepth;
-    this.ownStack = ownStack;
+    this.recursionLevels = recursionLevels;
+    this.counters = counters;
   }
 
   public Y apply(X item) {
-    Y result;
-    synchronized (function) {
-      ownStack.push(item);
-      globalStack.push(item);
-      try {
-        result = cache != null ? cache.get(item) : null;
-        if (result == null) {
-          int recursionLevel = ownStack != null ? Collections.frequency(ownStack, item) : 0;
-          int nestingDepth = globalStack.size();
-          boolean recursionLevelExceeded = recursionLevel > maximumRecursionLevel && maximumRecursionLevel > 0;
-          boolean nestringDeptExceeded = nestingDepth > maximumNestingDepth && maximumNestingDepth > 0;
-          boolean predicateMatched = fallbackPredicate != null && fallbackPredicate.test(item);
-          if ((recursionLevelExceeded || nestringDeptExceeded || predicateMatched) && fallback != null) {
-            result = fallback.apply(item);
-          } else {
-            result = function.apply(item);
-            cacheIfEnabled(item, result);
-          }
-        }
-      } finally {
-        ownStack.pop();
-        globalStack.pop();
+    int[] nestingDepth = NESTING_DEPTH.get();
+    Map<X, int[]> levels = maximumRecursionLevel > 0 ? recursionLevels.get() : null;
+    int[] recursionLevel = levels != null ? levels.computeIfAbsent(item, k -> new int[1]) : null;
+    nestingDepth[0]++;
+    if (recursionLevel != null) {
+      recursionLevel[0]++;
+    }
+    try {
+      Y result = cache != null && item != null ? cache.get(item) : null;
+      if (result != null) {
+        counters.hits.increment();
+        Metrics.increment("function.hit");
+        return result;
+      }
+
+      boolean recursionLevelExceeded = recursionLevel != null && recursionLevel[0] > maximumRecursionLevel;
+      boolean nestingDepthExceeded = nestingDepth[0] > maximumNestingDepth && maximumNestingDepth > 0;
+      boolean predicateMatched = fallbackPredicate != null && fallbackPredicate.test(item);
+      if ((recursionLevelExceeded || nestingDepthExceeded || predicateMatched) && fallback != null) {
+        counters.fallbacks.increment();
+        Metrics.increment("function.fallback");
+        return fallback.apply(item);
+      }
+
+      counters.misses.increment();
+      Metrics.increment("function.miss");
+      result = function.apply(item);
+      return cacheIfEnabled(item, result);
+    } finally {
+      nestingDepth[0]--;
+      if (recursionLevel != null && --recursionLevel[0] == 0) {
+        levels.remove(item);
       }
-      return result;
     }
   }
 
-  private void cacheIfEnabled(X item, Y result) {
-    if (cache != null) {
+  private Y cacheIfEnabled(X item, Y result) {
+    if (cache != null && item != null && result != null) {
       cache.put(item, result);
     }
+    return result;
+  }
+
+  /**
+   * @return the number of invocations that were served from the cache.
+   */
+  public long getHitCount() {
+    return counters.hits.sum();
+  }
+
+  /**
+   * @return the number of invocations that had to apply the function.
+   */
+  public long getMissCount() {
+    return counters.misses.sum();
+  }
+
+  /**
+   * @return the number of entries that were evicted from a bounded cache.
+   */
+  public long getEvictionCount() {
+    return counters.evictions.sum();
+  }
+
+  /**
+   * @return the number of invocations that applied the fallback function.
+   */
+  public long getFallbackCount() {
+    return counters.fallbacks.sum();
   }
 
   public static <X, Y> FunctionFactory<X, Y> cache(Function<X, Y> function) {
-    return new FunctionFactory<X, Y>(new HashMap<X, Y>(), function, null, null, 0, 0, new Stack<X>());
+    return new FunctionFactory<X, Y>(new ConcurrentHashMap<X, Y>(), function, null, null, 0, 0, newRecursionLevels(),
+        new Counters());
+  }
+
+  /**
+   * Creates a factory that caches up to the specified number of results.
+   * When the cache is full, the least recently used result is evicted.
+   *
+   * @param function The function to cache.
+   * @param maximumSize The maximum number of cached results.
+   * @param <X> The type of the function input.
+   * @param <Y> The type of the function output.
+   * @return The function factory.
+   */
+  public static <X, Y> FunctionFactory<X, Y> cache(Function<X, Y> function, int maximumSize) {
+    Counters counters = new Counters();
+    return new FunctionFactory<X, Y>(new LruCache<X, Y>(maximumSize, counters), function, null, null, 0, 0,
+        newRecursionLevels(), counters);
   }
 
   public static <X, Y> FunctionFactory<X, Y> wrap(Function<X, Y> function) {
-    return new FunctionFactory<X, Y>(null, function, null, null, 0, 0, new Stack<X>());
+    return new FunctionFactory<X, Y>(null, function, null, null, 0, 0, newRecursionLevels(), new Counters());
   }
 
   public FunctionFactory<X, Y> withFallback(Function<X, Y> fallback) {
     return new FunctionFactory<X, Y>(cache, function, fallback, fallbackPredicate, maximumRecursionLevel, maximumNestingDepth,
-        ownStack);
+        recursionLevels, counters);
   }
 
   public FunctionFactory<X, Y> withMaximumRecursionLevel(int maximumRecursionLevel) {
     return new FunctionFactory<X, Y>(cache, function, fallback, fallbackPredicate, maximumRecursionLevel, maximumNestingDepth,
-        ownStack);
+        recursionLevels, counters);
   }
 
   public FunctionFactory<X, Y> withMaximumNestingDepth(int maximumNestingDepth) {
     return new FunctionFactory<X, Y>(cache, function, fallback, fallbackPredicate, maximumRecursionLevel, maximumNestingDepth,
-        ownStack);
+        recursionLevels, counters);
   }
 
   public FunctionFactory<X, Y> withFallbackPredicate(Predicate<X> fallbackPredicate) {
     return new FunctionFactory<X, Y>(cache, function, fallback, fallbackPredicate, maximumRecursionLevel, maximumNestingDepth,
-        ownStack);
+        recursionLevels, counters);
+  }
+
+  private static <X> ThreadLocal<Map<X, int[]>> newRecursionLevels() {
+    return ThreadLocal.withInitial(HashMap::new);
+  }
+
+  private static final class Counters {
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+  }
+
+  /**
+   * A size limited cache, that evicts the least recently used entries.
+   * Access order is updated on reads, so all operations need to hold the lock.
+   */
+  private static final class LruCache<K, V> extends LinkedHashMap<K, V> {
+
+    private final int maximumSize;
+    private final Counters counters;
+
+    private LruCache(int maximumSize, Counters counters) {
+      super(16, 0.75f, true);
+      this.maximumSize = maximumSize;
+      this.counters = counters;
+    }
+
+    @Override
+    public synchronized V get(Object key) {
+      return super.get(key);
+    }
+
+    @Override
+    public synchronized V put(K key, V value) {
+      return super.put(key, value);
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+      if (size() > maximumSize) {
+        counters.evictions.increment();
+        return true;
+      }
+      return false;
+    }
   }
 }
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timers and counters, used to find out where code generation spends its time.
+ * Metrics are recorded to the instance that is bound to the current thread (see {@link #withMetrics(Metrics)}), so that
+ * concurrent compilations, or processors of the same compilation, collect their own metrics. When no instance is bound,
+ * metrics are disabled and recording them costs a thread local lookup.
+ *
+ * Timers are inclusive, so the time of a timer that is started while an other one is running, is counted by both.
+ * 
+ * <pre>
+ * long start = Metrics.start();
+ * try {
+ *   ...
+ * } finally {
+ *   Metrics.stop("render", start);
+ * }
+ * </pre>
+ */
+public final class Metrics {
+
+  private static final Scope<Metrics> SCOPE = new Scope<>();
+
+  //The number of keys listed per keyed counter in the summary.
+  private static final int SUMMARY_KEYS = 10;
+
+  private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, ConcurrentMap<String, LongAdder>> keyedCounters = new ConcurrentHashMap<>();
+
+  /**
+   * @return true if metrics are bound to the current thread.
+   */
+  public static boolean isEnabled() {
+    return SCOPE.get() != null;
+  }
+
+  /**
+   * Bind the specified metrics to the current thread, for the duration of a call.
+   * Work handed over to other threads needs to be wrapped using {@link Scope#wrap(Callable)}, to record to the same metrics.
+   *
+   * @param metrics the metrics.
+   * @return an object that calls code with the metrics bound.
+   */
+  public static WithMetrics withMetrics(Metrics metrics) {
+    return new WithMetrics(metrics);
+  }
+
+  /**
+   * Start timing.
+   *
+   * @return the start time to pass to {@link #stop(String, long)}, or 0 if metrics are disabled.
+   */
+  public static long start() {
+    return SCOPE.get() != null ? System.nanoTime() : 0;
+  }
+
+  /**
+   * Stop timing and record the elapsed time.
+   *
+   * @param name the name of the timer.
+   * @param start the value returned by {@link #start()}.
+   */
+  public static void stop(String name, long start) {
+    Metrics metrics = SCOPE.get();
+    if (start != 0 && metrics != null) {
+      metrics.timers.computeIfAbsent(name, n -> new Timer()).record(System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Increment the specified counter.
+   *
+   * @param name the name of the counter.
+   */
+  public static void increment(String name) {
+    Metrics metrics = SCOPE.get();
+    if (metrics != null) {
+      metrics.counters.computeIfAbsent(name, n -> new LongAdder()).increment();
+    }
+  }
+
+  /**
+   * Increment the specified counter, keeping a separate count for each key.
+   * This is meant for finding out which items contribute the most to a counter, e.g. which names are looked up the most.
+   *
+   * @param name the name of the counter.
+   * @param key the key.
+   */
+  public static void increment(String name, String key) {
+    Metrics metrics = SCOPE.get();
+    if (metrics != null) {
+      metrics.keyedCounters.computeIfAbsent(name, n -> new ConcurrentHashMap<>()).computeIfAbsent(key, k -> new LongAdder())
+          .increment();
+    }
+  }
+
+  /**
+   * @return a human readable summary of all timers and counters, sorted by name.
+   *         Keyed counters list their total and their most frequent keys.
+   */
+  public String summary() {
+    StringBuilder sb = new StringBuilder("Sundrio metrics:");
+    for (Map.Entry<String, Timer> e : new TreeMap<>(timers).entrySet()) {
+      long count = e.getValue().count.sum();
+      long total = e.getValue().nanos.sum();
+      sb.append(String.format("%n  %-40s count: %10d total: %10.1f ms mean: %10.1f us", e.getKey(), count, total / 1e6,
+          count > 0 ? total / 1e3 / count : 0d));
+    }
+    for (Map.Entry<String, LongAdder> e : new TreeMap<>(counters).entrySet()) {
+      sb.append(String.format("%n  %-40s count: %10d", e.getKey(), e.getValue().sum()));
+    }
+    for (Map.Entry<String, ConcurrentMap<String, LongAdder>> e : new TreeMap<>(keyedCounters).entrySet()) {
+      Map<String, Long> counts = sums(e.getValue());
+      sb.append(String.format("%n  %-40s count: %10d keys: %d", e.getKey(),
+          counts.values().stream().mapToLong(Long::longValue).sum(), counts.size()));
+      counts.entrySet().stream()
+          .sorted(Map.Entry.<String, Long> comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+          .limit(SUMMARY_KEYS)
+          .forEach(c -> sb.append(String.format("%n    %-38s count: %10d", c.getKey(), c.getValue())));
+    }
+    return sb.toString();
+  }
+
+  /**
+   * @return all timers and counters as a JSON document.
+   */
+  public String toJson() {
+    StringBuilder sb = new StringBuilder("{\n  \"timers\": {");
+    String separator = "\n";
+    for (Map.Entry<String, Timer> e : new TreeMap<>(timers).entrySet()) {
+      sb.append(separator).append("    \"").append(e.getKey()).append("\": { \"count\": ").append(e.getValue().count.sum())
+          .append(", \"nanos\": ").append(e.getValue().nanos.sum()).append(" }");
+      separator = ",\n";
+    }
+    sb.append("\n  },\n  \"counters\": {");
+    separator = "\n";
+    for (Map.Entry<String, LongAdder> e : new TreeMap<>(counters).entrySet()) {
+      sb.append(separator).append("    \"").append(e.getKey()).append("\": ").append(e.getValue().sum());
+      separator = ",\n";
+    }
+    sb.append("\n  },\n  \"keyedCounters\": {");
+    separator = "\n";
+    for (Map.Entry<String, ConcurrentMap<String, LongAdder>> e : new TreeMap<>(keyedCounters).entrySet()) {
+      sb.append(separator).append("    \"").append(e.getKey()).append("\": {");
+      String keySeparator = "\n";
+      for (Map.Entry<String, Long> c : sums(e.getValue()).entrySet()) {
+        sb.append(keySeparator).append("      \"").append(escape(c.getKey())).append("\": ").append(c.getValue());
+        keySeparator = ",\n";
+      }
+      sb.append("\n    }");
+      separator = ",\n";
+    }
+    return sb.append("\n  }\n}\n").toString();
+  }
+
+  private static Map<String, Long> sums(Map<String, LongAdder> counters) {
+    Map<String, Long> result = new TreeMap<>();
+    counters.forEach((k, v) -> result.put(k, v.sum()));
+    return result;
+  }
+
+  private static String escape(String value) {
+    return value.replace("\\", "\\\\").replace("\"", "\\\"");
+  }
+
+  public static class WithMetrics {
+
+    private final Metrics metrics;
+
+    public WithMetrics(Metrics metrics) {
+      this.metrics = metrics;
+    }
+
+    public <V> V call(Callable<V> callable) {
+      try {
+        return SCOPE.call(metrics, callable);
+      } catch (Exception e) {
+        throw SundrException.launderThrowable(e);
+      }
+    }
+  }
+
+  private static final class Timer {
+    private final LongAdder count = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+
+    private void record(long elapsed) {
+      count.increment();
+      nanos.add(elapsed);
+    }
+  }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A value that is bound to the current thread for the duration of a call.
+ * Bindings nest, so the previous value is restored when the call returns.
+ * Threads never see the values bound by other threads, so work handed over to an other thread
+ * (e.g. a task submitted to a {@link java.util.concurrent.ForkJoinPool}) needs to be wrapped using {@link #wrap(Callable)},
+ * {@link #wrap(Runnable)} or {@link #capture()}, so that it sees the values of the submitting thread.
+ *
+ * @param <T> the type of the value.
+ */
+public final class Scope<T> {
+
+  /**
+   * All the scopes created so far. Scopes are meant to be constants, so this only grows as classes declaring them get loaded.
+   */
+  private static final List<Scope<?>> SCOPES = new CopyOnWriteArrayList<>();
+
+  private final ThreadLocal<T> value = new ThreadLocal<>();
+
+  public Scope() {
+    SCOPES.add(this);
+  }
+
+  /**
+   * @return the value bound to the current thread, or null if there is none.
+   */
+  public T get() {
+    return value.get();
+  }
+
+  /**
+   * Bind the specified value to the current thread, while calling the specified callable.
+   *
+   * @param scoped the value to bind.
+   * @param callable the callable.
+   * @param <V> the type of the result.
+   * @return the result of the callable.
+   * @throws Exception if the callable throws.
+   */
+  public <V> V call(T scoped, Callable<V> callable) throws Exception {
+    T previous = value.get();
+    set(scoped);
+    try {
+      return callable.call();
+    } finally {
+      set(previous);
+    }
+  }
+
+  private void set(T scoped) {
+    if (scoped != null) {
+      value.set(scoped);
+    } else {
+      value.remove();
+    }
+  }
+
+  /**
+   * Capture the values that all scopes have on the current thread.
+   *
+   * @return the captured values.
+   */
+  public static Captured capture() {
+    Scope<?>[] scopes = SCOPES.toArray(new Scope<?>[0]);
+    Object[] values = new Object[scopes.length];
+    for (int i = 0; i < scopes.length; i++) {
+      values[i] = scopes[i].get();
+    }
+    return new Captured(scopes, values);
+  }
+
+  /**
+   * Wrap the specified callable, so that it sees the values that all scopes have on the current thread, wherever it runs.
+   *
+   * @param callable the callable to wrap.
+   * @param <V> the type of the result.
+   * @return the wrapped callable.
+   */
+  public static <V> Callable<V> wrap(Callable<V> callable) {
+    Captured captured = capture();
+    return () -> captured.call(callable);
+  }
+
+  /**
+   * Wrap the specified runnable, so that it sees the values that all scopes have on the current thread, wherever it runs.
+   *
+   * @param runnable the runnable to wrap.
+   * @return the wrapped runnable.
+   */
+  public static Runnable wrap(Runnable runnable) {
+    Captured captured = capture();
+    return () -> captured.run(runnable);
+  }
+
+  /**
+   * The values of all scopes, as captured on one thread, that can be bound on any other thread.
+   */
+  public static final class Captured {
+
+    private final Scope<?>[] scopes;
+    private final Object[] values;
+
+    private Captured(Scope<?>[] scopes, Object[] values) {
+      this.scopes = scopes;
+      this.values = values;
+    }
+
+    /**
+     * Bind the captured values to the current thread, while calling the specified callable.
+     * The values the current thread had are restored when the callable returns.
+     *
+     * @param callable the callable.
+     * @param <V> the type of the result.
+     * @return the result of the callable.
+     * @throws Exception if the callable throws.
+     */
+    public <V> V call(Callable<V> callable) throws Exception {
+      Object[] previous = new Object[scopes.length];
+      for (int i = 0; i < scopes.length; i++) {
+        Scope<Object> scope = (Scope<Object>) scopes[i];
+        previous[i] = scope.get();
+        scope.set(values[i]);
+      }
+      try {
+        return callable.call();
+      } finally {
+        for (int i = 0; i < scopes.length; i++) {
+          ((Scope<Object>) scopes[i]).set(previous[i]);
+        }
+      }
+    }
+
+    /**
+     * Bind the captured values to the current thread, while running the specified runnable.
+     *
+     * @param runnable the runnable.
+     */
+    public void run(Runnable runnable) {
+      try {
+        call(() -> {
+          runnable.run();
+          return null;
+        });
+      } catch (Exception e) {
+        throw SundrException.launderThrowable(e);
+      }
+    }
+  }
+}
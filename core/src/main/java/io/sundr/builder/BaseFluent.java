@@ -16,19 +16,93 @@
 
 package io.sundr.builder;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import io.sundr.Scope;
+
 public class BaseFluent<F extends Fluent<F>> implements Fluent<F>, Visitable<F> {
 
   private static final String VISIT = "visit";
 
+  /**
+   * The minimum number of children a fluent needs to have, for them to be visited in parallel.
+   */
+  public static final int DEFAULT_PARALLEL_THRESHOLD = 2;
+
+  /**
+   * The parameter type of the visit method of each visitor class.
+   * Looking up methods reflectively for every visited node is expensive, so it's done once per visitor class.
+   * A {@link Void} value is used for visitors without a visit method, as no fluent is ever assignable to it.
+   */
+  private static final ClassValue<Class> VISIT_PARAMETER_TYPES = new ClassValue<Class>() {
+    @Override
+    protected Class computeValue(Class<?> type) {
+      for (Method method : type.getMethods()) {
+        if (!method.getName().equals(VISIT) || method.getParameterTypes().length != 1) {
+          continue;
+        }
+        return method.getParameterTypes()[0];
+      }
+      return Void.class;
+    }
+  };
+
+  /**
+   * The factory of builders for instances of each class.
+   * The generated {@link BuilderRegistry} instances are consulted first and reflection is only used as a last resort.
+   * Registries visible to the class loader of the class are consulted too, as it may not be the one that loaded this
+   * class.
+   */
+  private static final ClassValue<Function<Object, VisitableBuilder<?, ?>>> BUILDER_FACTORIES = new ClassValue<Function<Object, VisitableBuilder<?, ?>>>() {
+    @Override
+    protected Function<Object, VisitableBuilder<?, ?>> computeValue(Class<?> type) {
+      Function<Object, VisitableBuilder<?, ?>> factory = findBuilderFactory(getBuilderRegistries(), type);
+      ClassLoader loader = type.getClassLoader();
+      if (factory == null && loader != null && loader != BaseFluent.class.getClassLoader()) {
+        factory = findBuilderFactory(ServiceLoader.load(BuilderRegistry.class, loader), type);
+      }
+      return factory != null ? factory : reflectiveBuilderFactory(type);
+    }
+  };
+
+  /**
+   * Whether each fluent class overrides {@link #accept(Visitor...)}, to customize traversal.
+   * Parallel traversal only walks the children of fluents that don't, and delegates to the override otherwise.
+   */
+  private static final ClassValue<Boolean> CUSTOM_ACCEPT = new ClassValue<Boolean>() {
+    @Override
+    protected Boolean computeValue(Class<?> type) {
+      try {
+        return type.getMethod("accept", Visitor[].class).getDeclaringClass() != BaseFluent.class;
+      } catch (NoSuchMethodException e) {
+        return true;
+      }
+    }
+  };
+
+  /**
+   * The system property that overrides the number of queued tasks, above which parallel traversal stops forking.
+   */
+  public static final String MAX_SURPLUS_QUEUED_TASKS_PROPERTY = "sundrio.visitor.surplus";
+
+  private static final AtomicLong REFLECTIVE_BUILDER_COUNT = new AtomicLong();
+
+  private static volatile List<BuilderRegistry> builderRegistries;
+
   public final VisitableMap _visitables = new VisitableMap();
 
   public static <T> VisitableBuilder<T, ?> builderOf(T item) {
@@ -38,12 +112,63 @@ public class BaseFluent<F extends Fluent<F>> implements Fluent<F>, Visitable<F>
         return (VisitableBuilder<T, ?>) editor;
       }
     }
+    return (VisitableBuilder<T, ?>) BUILDER_FACTORIES.get(item.getClass()).apply(item);
+  }
+
+  /**
+   * Get the number of times {@link #builderOf(Object)} had to fall back to reflection,
+   * because no {@link BuilderRegistry} knew how to create a builder for the item.
+   *
+   * @return the number of reflective builder creations.
+   */
+  public static long getReflectiveBuilderCount() {
+    return REFLECTIVE_BUILDER_COUNT.get();
+  }
+
+  private static List<BuilderRegistry> getBuilderRegistries() {
+    List<BuilderRegistry> result = builderRegistries;
+    if (result == null) {
+      synchronized (BuilderRegistry.class) {
+        result = builderRegistries;
+        if (result == null) {
+          result = new ArrayList<>();
+          for (BuilderRegistry registry : ServiceLoader.load(BuilderRegistry.class, BaseFluent.class.getClassLoader())) {
+            result.add(registry);
+          }
+          builderRegistries = result;
+        }
+      }
+    }
+    return result;
+  }
+
+  private static Function<Object, VisitableBuilder<?, ?>> findBuilderFactory(Iterable<BuilderRegistry> registries,
+      Class<?> type) {
+    for (BuilderRegistry registry : registries) {
+      Function<Object, VisitableBuilder<?, ?>> factory = registry.getBuilderFactory(type);
+      if (factory != null) {
+        return factory;
+      }
+    }
+    return null;
+  }
 
+  private static Function<Object, VisitableBuilder<?, ?>> reflectiveBuilderFactory(Class<?> type) {
     try {
-      return (VisitableBuilder<T, ?>) Class.forName(item.getClass().getName() + "Builder").getConstructor(item.getClass())
-          .newInstance(item);
+      Constructor<?> constructor = Class.forName(type.getName() + "Builder").getConstructor(type);
+      return item -> {
+        REFLECTIVE_BUILDER_COUNT.incrementAndGet();
+        try {
+          return (VisitableBuilder<?, ?>) constructor.newInstance(item);
+        } catch (Exception e) {
+          throw new IllegalStateException("Failed to create builder for: " + type, e);
+        }
+      };
     } catch (Exception e) {
-      throw new IllegalStateException("Failed to create builder for: " + item.getClass(), e);
+      return item -> {
+        REFLECTIVE_BUILDER_COUNT.incrementAndGet();
+        throw new IllegalStateException("Failed to create builder for: " + type, e);
+      };
     }
   }
 
@@ -92,22 +217,16 @@ public class BaseFluent<F extends Fluent<F>> implements Fluent<F>, Visitable<F>
    * @return
    */
   private static <V, F> Boolean hasCompatibleVisitMethod(V visitor, F fluent) {
-    for (Method method : visitor.getClass().getMethods()) {
-      if (!method.getName().equals(VISIT) || method.getParameterTypes().length != 1) {
-        continue;
-      }
-      Class visitorType = method.getParameterTypes()[0];
-      if (visitorType.isAssignableFrom(fluent.getClass())) {
-        return true;
-      } else {
-        return false;
-      }
-    }
-    return false;
+    return VISIT_PARAMETER_TYPES.get(visitor.getClass()).isAssignableFrom(fluent.getClass());
   }
 
   public F accept(Visitor... visitors) {
-    return isPathAwareVisitorArray(visitors) ? acceptPathAware(asPathAwareVisitorArray(visitors)) : acceptInternal(visitors);
+    pushPath(this, visitors);
+    try {
+      return acceptInternal(visitors);
+    } finally {
+      popPath(visitors);
+    }
   }
 
   @Override
@@ -122,9 +241,51 @@ public class BaseFluent<F extends Fluent<F>> implements Fluent<F>, Visitable<F>
       public void visit(V element) {
         visitor.visit(element);
       }
+
+      @Override
+      public boolean isThreadSafe() {
+        return visitor.isThreadSafe();
+      }
     });
   }
 
+  /**
+   * Accept the specified visitors, visiting sibling subtrees in parallel using the common {@link ForkJoinPool}.
+   *
+   * @param visitors the visitors to accept.
+   * @return the visited fluent.
+   * @see #acceptParallel(ForkJoinPool, int, Visitor...)
+   */
+  @Override
+  public F acceptParallel(Visitor... visitors) {
+    return acceptParallel(ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD, visitors);
+  }
+
+  /**
+   * Accept the specified visitors, visiting sibling subtrees in parallel.
+   * Visitors are applied one after the other, like in {@link #accept(Visitor...)}, and each visitor still visits a fluent
+   * after all of its descendants. There are no guarantees about the order in which siblings and their subtrees are visited.
+   * Parallel traversal is only used when all visitors are thread safe (see {@link Visitor#isThreadSafe()}) and none of them is
+   * a {@link PathAwareTypedVisitor}. Otherwise, this method is equivalent to {@link #accept(Visitor...)}.
+   * Fluents that override {@link #accept(Visitor...)} to customize traversal are visited through their override, so their
+   * subtree is visited sequentially and the same nodes get visited as with {@link #accept(Visitor...)}.
+   *
+   * @param pool the pool that will execute the traversal.
+   * @param threshold the minimum number of children a fluent needs to have, for them to be visited in parallel.
+   * @param visitors the visitors to accept.
+   * @return the visited fluent.
+   */
+  public F acceptParallel(ForkJoinPool pool, int threshold, Visitor... visitors) {
+    if (!isParallelVisitorArray(visitors) || CUSTOM_ACCEPT.get(getClass())) {
+      return accept(visitors);
+    }
+    Scope.Captured scopes = Scope.capture();
+    for (Visitor visitor : visitors) {
+      pool.invoke(new ParallelAccept(this, visitor, threshold, scopes));
+    }
+    return (F) this;
+  }
+
   private F acceptInternal(Visitor... visitors) {
     for (Visitor visitor : visitors) {
       for (Visitable visitable : _visitables) {
@@ -138,18 +299,85 @@ public class BaseFluent<F extends Fluent<F>> implements Fluent<F>, Visitable<F>
     return (F) this;
   }
 
-  private F acceptPathAware(PathAwareTypedVisitor... pathAwareTypedVisitors) {
-    return acceptInternal(
-        Arrays.stream(pathAwareTypedVisitors).map(p -> p.next(this)).toArray(size -> new PathAwareTypedVisitor[size]));
+  private static void pushPath(Object item, Visitor... visitors) {
+    for (Visitor visitor : visitors) {
+      if (visitor instanceof PathAwareTypedVisitor) {
+        ((PathAwareTypedVisitor) visitor).push(item);
+      }
+    }
   }
 
-  private static boolean isPathAwareVisitorArray(Visitor... visitors) {
-    return !Arrays.stream(visitors).filter(v -> !(v instanceof PathAwareTypedVisitor)).findAny().isPresent();
+  private static void popPath(Visitor... visitors) {
+    for (Visitor visitor : visitors) {
+      if (visitor instanceof PathAwareTypedVisitor) {
+        ((PathAwareTypedVisitor) visitor).pop();
+      }
+    }
   }
 
-  private static PathAwareTypedVisitor[] asPathAwareVisitorArray(Visitor... visitors) {
-    return Arrays.stream(visitors).filter(v -> v instanceof PathAwareTypedVisitor)
-        .map(v -> (PathAwareTypedVisitor) v)
-        .toArray(size -> new PathAwareTypedVisitor[size]);
+  private static boolean isParallelVisitorArray(Visitor... visitors) {
+    for (Visitor visitor : visitors) {
+      if (!visitor.isThreadSafe() || visitor instanceof PathAwareTypedVisitor) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Visits the subtree of a fluent with a single visitor.
+   * The children are forked as separate tasks, if there are enough of them and the pool is not already saturated.
+   * Children that override {@link #accept(Visitor...)} are visited through it, so their subtree is visited sequentially.
+   * Each task binds the scopes of the thread that started the traversal, so that visitors see the same scoped values
+   * (e.g. the definition repository) on every worker.
+   */
+  private static class ParallelAccept extends RecursiveAction {
+
+    /**
+     * The number of queued tasks, above which children are no longer forked and are visited by the current thread instead.
+     * Defaults to 3, the steady state surplus suggested by {@link ForkJoinTask#getSurplusQueuedTaskCount()}, and can be
+     * tuned using the {@value #MAX_SURPLUS_QUEUED_TASKS_PROPERTY} system property (see ParallelVisitorBenchmark).
+     */
+    private static final int MAX_SURPLUS_QUEUED_TASKS = Integer.getInteger(MAX_SURPLUS_QUEUED_TASKS_PROPERTY, 3);
+
+    private final BaseFluent<?> fluent;
+    private final Visitor visitor;
+    private final int threshold;
+    private final Scope.Captured scopes;
+
+    private ParallelAccept(BaseFluent<?> fluent, Visitor visitor, int threshold, Scope.Captured scopes) {
+      this.fluent = fluent;
+      this.visitor = visitor;
+      this.threshold = threshold;
+      this.scopes = scopes;
+    }
+
+    @Override
+    protected void compute() {
+      scopes.run(this::traverse);
+    }
+
+    private void traverse() {
+      List<ParallelAccept> children = new ArrayList<>();
+      for (Visitable visitable : fluent._visitables) {
+        if (visitable instanceof BaseFluent && !CUSTOM_ACCEPT.get(visitable.getClass())) {
+          children.add(new ParallelAccept((BaseFluent<?>) visitable, visitor, threshold, scopes));
+        } else {
+          visitable.accept(visitor);
+        }
+      }
+
+      if (children.size() >= threshold && getSurplusQueuedTaskCount() <= MAX_SURPLUS_QUEUED_TASKS) {
+        invokeAll(children);
+      } else {
+        for (ParallelAccept child : children) {
+          child.traverse();
+        }
+      }
+
+      if (canVisit(visitor, fluent)) {
+        visitor.visit(fluent);
+      }
+    }
   }
 }
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.builder;
+
+import java.util.function.Function;
+
+/**
+ * Creates builders for a set of buildable types, without using reflection.
+ * Implementations are generated by the builder annotation processor, one for each package that contains buildables,
+ * and are discovered using the {@link java.util.ServiceLoader}.
+ */
+public interface BuilderRegistry {
+
+  /**
+   * Get the factory of builders for instances of the specified type.
+   *
+   * @param type the type of the instances.
+   * @return the factory, or null if the type is not known to the registry.
+   */
+  Function<Object, VisitableBuilder<?, ?>> getBuilderFactory(Class<?> type);
+
+}
@@ -22,46 +22,103 @@ import java.util.List;
 
 public class PathAwareTypedVisitor<V, P> extends TypedVisitor<V> {
 
-  private List<Object> path;
+  /**
+   * The parent type each visitor class provides to {@link PathAwareTypedVisitor}.
+   * Resolved once per class, instead of once per visitor instance.
+   */
+  private static final ClassValue<Class> PARENT_TYPES = new ClassValue<Class>() {
+    @Override
+    protected Class computeValue(Class<?> type) {
+      return getTypeArguments(PathAwareTypedVisitor.class, (Class<? extends PathAwareTypedVisitor>) type).get(1);
+    }
+  };
+
+  /**
+   * The path from the root to the element currently visited, for each thread.
+   * Elements are pushed and popped around their traversal, so the same list is reused for the whole tree.
+   * Keeping one list per thread, allows the same visitor to traverse different trees concurrently.
+   */
+  private final ThreadLocal<List<Object>> path;
   private final PathAwareTypedVisitor<V, P> delegate;
   private final Class<P> parentType;
 
   public PathAwareTypedVisitor() {
-    this.path = new ArrayList<Object>();
-    this.delegate = this;
-    this.parentType = (Class<P>) getTypeArguments(PathAwareTypedVisitor.class, getClass()).get(1);
+    this(Collections.emptyList());
   }
 
   public PathAwareTypedVisitor(List<Object> path) {
-    this.path = path;
+    this.path = newPath(path);
     this.delegate = this;
-    this.parentType = (Class<P>) getTypeArguments(PathAwareTypedVisitor.class, getClass()).get(1);
+    this.parentType = (Class<P>) PARENT_TYPES.get(getClass());
   }
 
+  /**
+   * @deprecated The path is now tracked by the visitor itself during the traversal, so there is no need to wrap it.
+   */
+  @Deprecated
   public PathAwareTypedVisitor(List<Object> path, PathAwareTypedVisitor<V, P> delegate) {
-    this.path = path;
+    this.path = newPath(path);
     this.delegate = delegate;
-    this.parentType = (Class<P>) getTypeArguments(PathAwareTypedVisitor.class, delegate.getClass()).get(1);
+    this.parentType = (Class<P>) PARENT_TYPES.get(delegate.getClass());
+  }
+
+  private static ThreadLocal<List<Object>> newPath(List<Object> path) {
+    List<Object> initial = new ArrayList<Object>(path);
+    return ThreadLocal.withInitial(() -> new ArrayList<Object>(initial));
   }
 
+  /**
+   * @deprecated The path is now tracked by the visitor itself during the traversal, so there is no need to wrap it.
+   */
+  @Deprecated
   public PathAwareTypedVisitor<V, P> next(Object item) {
-    List<Object> path = new ArrayList<Object>(this.path);
+    List<Object> path = new ArrayList<Object>(this.path.get());
     path.add(item);
     return new PathAwareTypedVisitor<V, P>(path, this);
   }
 
+  /**
+   * Visits the element with the delegate of a visitor created by {@link #next(Object)}.
+   * The delegate shares the path of this visitor for the duration of the visit. Visitors that are not wrappers are expected
+   * to override this method.
+   *
+   * @param element the element to visit.
+   */
   @Override
   public void visit(V element) {
-    delegate.path = path;
-    delegate.visit(element);
+    if (delegate == this) {
+      return;
+    }
+    List<Object> previous = delegate.path.get();
+    delegate.path.set(path.get());
+    try {
+      delegate.visit(element);
+    } finally {
+      delegate.path.set(previous);
+    }
+  }
+
+  void push(Object item) {
+    path.get().add(item);
+  }
+
+  void pop() {
+    List<Object> path = this.path.get();
+    path.remove(path.size() - 1);
   }
 
   public P getParent() {
+    List<Object> path = this.path.get();
     return path.size() - 2 >= 0 ? (P) path.get(path.size() - 2) : null;
   }
 
+  /**
+   * Get the path from the root to the element currently visited (inclusive).
+   *
+   * @return an immutable copy of the path to the element currently visited.
+   */
   public List<Object> getPath() {
-    return Collections.unmodifiableList(path);
+    return Collections.unmodifiableList(new ArrayList<Object>(path.get()));
   }
 
   @Override
@@ -74,6 +131,7 @@ public class PathAwareTypedVisitor<V, P> extends TypedVisitor<V> {
   }
 
   Class getActualParentType() {
+    List<Object> path = this.path.get();
     return path.size() - 2 >= 0 ? path.get(path.size() - 2).getClass() : Void.class;
   }
 }
@@ -22,14 +22,26 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 public abstract class TypedVisitor<V> implements Visitor<V> {
 
+  /**
+   * The type arguments each visitor class provides to {@link TypedVisitor}.
+   * They only depend on the class, so they are resolved once per class instead of once per visited node.
+   */
+  private static final ClassValue<List<Class>> TYPE_ARGUMENTS = new ClassValue<List<Class>>() {
+    @Override
+    protected List<Class> computeValue(Class<?> type) {
+      return Collections.unmodifiableList(getTypeArguments(TypedVisitor.class, (Class<? extends TypedVisitor>) type));
+    }
+  };
+
   public Class<V> getType() {
-    return (Class<V>) getTypeArguments(TypedVisitor.class, getClass()).get(0);
+    return (Class<V>) TYPE_ARGUMENTS.get(getClass()).get(0);
   }
 
   /**
@@ -20,6 +20,17 @@ public interface Visitable<T> {
 
   T accept(Visitor... visitor);
 
+  /**
+   * Accept the specified visitors, possibly visiting independent parts of the tree in parallel.
+   * Implementations that don't support parallel traversal, just fall back to {@link #accept(Visitor...)}.
+   *
+   * @param visitors the visitors to accept.
+   * @return the visited object.
+   */
+  default T acceptParallel(Visitor... visitors) {
+    return accept(visitors);
+  }
+
   default <V> T accept(Class<V> type, Visitor<V> visitor) {
     return accept(new TypedVisitor<V>() {
       @Override
@@ -31,6 +42,11 @@ public interface Visitable<T> {
       public void visit(V element) {
         visitor.visit(element);
       }
+
+      @Override
+      public boolean isThreadSafe() {
+        return visitor.isThreadSafe();
+      }
     });
   }
 }
@@ -16,41 +16,204 @@
 
 package io.sundr.builder;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Spliterator;
-import java.util.function.Consumer;
-import java.util.stream.Collectors;
+import java.util.Spliterators;
 
+/**
+ * Holds the {@link Visitable} children of a fluent, grouped by property name.
+ * Lists are only created for properties that actually get children and traversal happens in place, without copying.
+ * Traversal works on the property lists that exist when it starts, so properties that get their first child while
+ * traversing are not visited. Visitors may remove the visited child, or append children, without affecting which of the
+ * other children get visited. Children appended while traversing are not visited.
+ */
 public class VisitableMap extends HashMap<String, List<Visitable>> implements Iterable<Visitable> {
 
+  private static final List<Visitable>[] EMPTY = new List[0];
+
+  private transient List<Visitable>[] lists = EMPTY;
+
+  /**
+   * Get the list of children of the specified property.
+   * For properties without children, an empty view is returned, that is only added to the map when it gets modified.
+   *
+   * @param key the property name
+   * @return the list of children
+   */
   @Override
   public List<Visitable> get(Object key) {
-    if (!containsKey(key)) {
-      put(String.valueOf(key), new ArrayList());
-    }
-    return super.get(key);
+    List<Visitable> list = super.get(key);
+    return list != null ? list : new PropertyList(String.valueOf(key));
   }
 
   public List<Visitable> aggregate() {
-    return values().stream().flatMap(l -> l.stream()).collect(Collectors.toList());
+    List<Visitable> result = new ArrayList<>();
+    for (List<Visitable> list : lists()) {
+      result.addAll(list);
+    }
+    return result;
   }
 
   @Override
   public Iterator<Visitable> iterator() {
-    return aggregate().iterator();
+    return new VisitableIterator(lists());
   }
 
   @Override
-  public void forEach(Consumer<? super Visitable> action) {
-    aggregate().forEach(action);
+  public Spliterator<Visitable> spliterator() {
+    return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL);
   }
 
   @Override
-  public Spliterator<Visitable> spliterator() {
-    return aggregate().spliterator();
+  public Object clone() {
+    VisitableMap clone = (VisitableMap) super.clone();
+    clone.lists = null;
+    return clone;
   }
 
+  /**
+   * Returns the property lists as an array, that is only recreated when the map changes.
+   * The array is checked against the values of the map, so that changes that don't go through the methods of this class
+   * (e.g. keySet().remove() or entry.setValue()) are also taken into account.
+   *
+   * @return the array of the property lists.
+   */
+  private List<Visitable>[] lists() {
+    List<Visitable>[] result = lists;
+    if (result == null || !isCurrent(result)) {
+      result = values().toArray(new List[size()]);
+      lists = result;
+    }
+    return result;
+  }
+
+  private boolean isCurrent(List<Visitable>[] lists) {
+    if (lists.length != size()) {
+      return false;
+    }
+    int i = 0;
+    for (List<Visitable> list : values()) {
+      if (lists[i++] != list) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * A view of the children of a property, that has no children yet.
+   * The actual list is created and added to the map, the first time the view is modified.
+   */
+  private class PropertyList extends AbstractList<Visitable> {
+
+    private final String key;
+
+    private PropertyList(String key) {
+      this.key = key;
+    }
+
+    private List<Visitable> existing() {
+      List<Visitable> list = VisitableMap.super.get(key);
+      return list != null ? list : Collections.emptyList();
+    }
+
+    private List<Visitable> create() {
+      List<Visitable> list = VisitableMap.super.get(key);
+      if (list == null) {
+        list = new ArrayList<>();
+        put(key, list);
+      }
+      return list;
+    }
+
+    @Override
+    public Visitable get(int index) {
+      return existing().get(index);
+    }
+
+    @Override
+    public int size() {
+      return existing().size();
+    }
+
+    @Override
+    public Visitable set(int index, Visitable element) {
+      return existing().set(index, element);
+    }
+
+    @Override
+    public void add(int index, Visitable element) {
+      create().add(index, element);
+    }
+
+    @Override
+    public Visitable remove(int index) {
+      return existing().remove(index);
+    }
+  }
+
+  /**
+   * Iterates over the children of all properties, by index.
+   * Before moving on, it checks whether the list shrank while the last child was visited. If the child is no longer in
+   * its place it was removed, so the child that took its place is the next one. Children past the original end of the
+   * list are never visited.
+   */
+  private static class VisitableIterator implements Iterator<Visitable> {
+
+    private final List<Visitable>[] lists;
+    private int list = -1;
+    private int index;
+    private int end;
+    private Visitable last;
+    private boolean visiting;
+    private int sizeBeforeVisit;
+
+    private VisitableIterator(List<Visitable>[] lists) {
+      this.lists = lists;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (visiting) {
+        List<Visitable> current = lists[list];
+        int removed = sizeBeforeVisit - current.size();
+        if (removed > 0) {
+          end -= removed;
+        }
+        if (removed <= 0 || (index < current.size() && current.get(index) == last)) {
+          index++;
+        }
+        last = null;
+        visiting = false;
+      }
+      while (list < 0 || index >= Math.min(end, lists[list].size())) {
+        if (++list >= lists.length) {
+          list = lists.length - 1;
+          end = 0;
+          return false;
+        }
+        index = 0;
+        end = lists[list].size();
+      }
+      return true;
+    }
+
+    @Override
+    public Visitable next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      List<Visitable> current = lists[list];
+      last = current.get(index);
+      visiting = true;
+      sizeBeforeVisit = current.size();
+      return last;
+    }
+  }
 }
@@ -21,4 +21,14 @@ public interface Visitor<T> {
 
   void visit(T element);
 
+  /**
+   * Visitors that can be safely invoked by multiple threads at the same time, need to override this method and return true.
+   * Only thread safe visitors are applied in parallel by {@link Visitable#acceptParallel(Visitor...)}.
+   *
+   * @return true if the visitor is thread safe, false otherwise.
+   */
+  default boolean isThreadSafe() {
+    return false;
+  }
+
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.utils;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A registry of service providers.
+ * Providers are discovered once per service using the class loader of the service, and then shared by all callers.
+ * Lookups of the provider that supports a type are cached too, so that they don't need to go through all providers again.
+ * Neither cache holds a strong reference to a class of a foreign class loader, so they don't keep class loaders of
+ * finished compilations from being collected.
+ */
+public final class Services {
+
+  private static final Object NONE = new Object();
+
+  /**
+   * The providers are attached to the service class, and are loaded by its class loader.
+   */
+  private static final ClassValue<List<?>> PROVIDERS = new ClassValue<List<?>>() {
+    @Override
+    protected List<?> computeValue(Class<?> service) {
+      List<Object> providers = new ArrayList<>();
+      for (Object provider : ServiceLoader.load(service, service.getClassLoader())) {
+        providers.add(provider);
+      }
+      return Collections.unmodifiableList(providers);
+    }
+  };
+
+  private Services() {
+    //Utility class
+  }
+
+  /**
+   * Get the providers of the specified service.
+   *
+   * @param service the service class.
+   * @param <S> the type of the service.
+   * @return an unmodifiable list of the providers, in the order {@link ServiceLoader} discovered them.
+   */
+  @SuppressWarnings("unchecked")
+  public static <S> List<S> load(Class<S> service) {
+    return (List<S>) PROVIDERS.get(service);
+  }
+
+  /**
+   * Create an index that maps each type to the first provider of the specified service that supports it.
+   * The index is populated lazily.
+   *
+   * @param service the service class.
+   * @param supports a function that given a type returns a predicate that checks if a provider supports that type.
+   * @param <S> the type of the service.
+   * @return a function that returns the first provider that supports the type, or null if there is none.
+   */
+  public static <S> Function<Class<?>, S> index(Class<S> service, Function<Class<?>, Predicate<S>> supports) {
+    //Types are keyed by name and only weakly referenced, so that the index doesn't pin their class loaders.
+    //A ClassValue would do the opposite, and attach the providers to the (possibly foreign) type.
+    ConcurrentMap<String, IndexEntry> index = new ConcurrentHashMap<>();
+    return type -> {
+      IndexEntry entry = index.get(type.getName());
+      if (entry == null || entry.type.get() != type) {
+        //Either not seen yet, or a class with the same name from a different class loader.
+        entry = new IndexEntry(type,
+            load(service).stream().filter(supports.apply(type)).findFirst().map(p -> (Object) p).orElse(NONE));
+        index.put(type.getName(), entry);
+      }
+      return entry.provider == NONE ? null : service.cast(entry.provider);
+    };
+  }
+
+  private static final class IndexEntry {
+    private final WeakReference<Class<?>> type;
+    private final Object provider;
+
+    private IndexEntry(Class<?> type, Object provider) {
+      this.type = new WeakReference<>(type);
+      this.provider = provider;
+    }
+  }
+}
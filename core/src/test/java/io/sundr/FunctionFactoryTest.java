@@ -42,4 +42,36 @@ public class FunctionFactoryTest {
     result = TEST_FUNCTION.apply("");
     Assert.assertEquals(expectedResult, result);
   }
+
+  @Test
+  public void testCounters() {
+    FunctionFactory<String, String> function = FunctionFactory.cache((String item) -> item.toUpperCase())
+        .withFallback(item -> item)
+        .withFallbackPredicate(String::isEmpty);
+
+    Assert.assertEquals("A", function.apply("a"));
+    Assert.assertEquals("A", function.apply("a"));
+    Assert.assertEquals("", function.apply(""));
+
+    Assert.assertEquals(1, function.getHitCount());
+    Assert.assertEquals(1, function.getMissCount());
+    Assert.assertEquals(1, function.getFallbackCount());
+    Assert.assertEquals(0, function.getEvictionCount());
+  }
+
+  @Test
+  public void testBoundedCache() {
+    FunctionFactory<Integer, Integer> function = FunctionFactory.cache((Integer item) -> item * 2, 2);
+
+    function.apply(1);
+    function.apply(2);
+    function.apply(1);
+    function.apply(3);
+    function.apply(1);
+    function.apply(2);
+
+    Assert.assertEquals(2, function.getHitCount());
+    Assert.assertEquals(4, function.getMissCount());
+    Assert.assertEquals(2, function.getEvictionCount());
+  }
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MetricsTest {
+
+  @Test
+  public void testUnboundMetricsAreNotRecorded() {
+    Assert.assertFalse(Metrics.isEnabled());
+    Assert.assertEquals(0, Metrics.start());
+    Metrics.increment("counter");
+    Metrics.stop("timer", Metrics.start());
+    Metrics metrics = new Metrics();
+    Assert.assertFalse(metrics.summary().contains("counter"));
+    Assert.assertFalse(metrics.summary().contains("timer"));
+  }
+
+  @Test
+  public void testBoundMetrics() {
+    Metrics metrics = new Metrics();
+    Metrics.withMetrics(metrics).call(() -> {
+      Assert.assertTrue(Metrics.isEnabled());
+      Metrics.increment("counter");
+      Metrics.increment("counter");
+      Metrics.stop("timer", Metrics.start());
+      return null;
+    });
+    //Not recorded, as the metrics are no longer bound.
+    Metrics.increment("counter");
+
+    Assert.assertTrue(metrics.summary().contains("timer"));
+    String json = metrics.toJson();
+    Assert.assertTrue(json.contains("\"counter\": 2"));
+    Assert.assertTrue(json.contains("\"timer\": { \"count\": 1"));
+  }
+
+  @Test
+  public void testConcurrentMetricsAreSeparate() throws Exception {
+    Metrics first = new Metrics();
+    Metrics second = new Metrics();
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<?> a = executor.submit(() -> Metrics.withMetrics(first).call(() -> count(3)));
+      Future<?> b = executor.submit(() -> Metrics.withMetrics(second).call(() -> count(5)));
+      a.get();
+      b.get();
+    } finally {
+      executor.shutdown();
+    }
+    Assert.assertTrue(first.toJson().contains("\"counter\": 3"));
+    Assert.assertTrue(second.toJson().contains("\"counter\": 5"));
+  }
+
+  private static Void count(int times) {
+    for (int i = 0; i < times; i++) {
+      Metrics.increment("counter");
+    }
+    return null;
+  }
+}
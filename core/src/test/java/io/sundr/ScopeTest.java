@@ -0,0 +1,65 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ScopeTest {
+
+  private static final Scope<String> SCOPE = new Scope<>();
+
+  @Test
+  public void testBindingsNest() throws Exception {
+    Assert.assertEquals("outer/inner/outer", SCOPE.call("outer",
+        () -> SCOPE.get() + "/" + SCOPE.call("inner", SCOPE::get) + "/" + SCOPE.get()));
+    Assert.assertNull(SCOPE.get());
+  }
+
+  @Test
+  public void testWrapPropagatesToForkJoinTasks() throws Exception {
+    ForkJoinPool pool = new ForkJoinPool(2);
+    try {
+      Callable<String> wrapped = SCOPE.call("bound", () -> Scope.wrap(SCOPE::get));
+      Assert.assertEquals("bound", pool.submit(wrapped).get());
+
+      StringBuilder seen = new StringBuilder();
+      Runnable runnable = SCOPE.call("run", () -> Scope.wrap((Runnable) () -> seen.append(SCOPE.get())));
+      pool.submit(runnable).get();
+      Assert.assertEquals("run", seen.toString());
+
+      //Nothing leaks to the worker, once the task is done.
+      Assert.assertNull(pool.submit(SCOPE::get).get());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void testCapturedRestoresPreviousValues() throws Exception {
+    Scope.Captured captured = SCOPE.call("captured", Scope::capture);
+    Assert.assertEquals("inner:captured", SCOPE.call("inner",
+        () -> captured.call(() -> "inner:" + SCOPE.get())));
+    Assert.assertEquals("inner", SCOPE.call("inner", () -> {
+      captured.run(() -> Assert.assertEquals("captured", SCOPE.get()));
+      return SCOPE.get();
+    }));
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.builder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.sundr.Scope;
+
+public class BaseFluentTest {
+
+  @Test
+  public void testParallelVisitsSameNodes() {
+    Node tree = tree(4, 3);
+    Assert.assertEquals(visited(tree, false), visited(tree, true));
+  }
+
+  @Test
+  public void testParallelHonorsCustomAccept() {
+    Node tree = tree(3, 3);
+    //Prune the subtree of the first child, by overriding accept.
+    Node pruned = new PrunedNode();
+    pruned._visitables.get("children").add(new Node());
+    tree._visitables.get("children").set(0, pruned);
+
+    Set<Node> sequential = visited(tree, false);
+    Assert.assertTrue(sequential.contains(pruned));
+    Assert.assertEquals(sequential, visited(tree, true));
+  }
+
+  @Test
+  public void testParallelVisitorsSeeScopes() throws Exception {
+    Scope<String> scope = new Scope<>();
+    Node tree = tree(4, 3);
+    Set<String> values = ConcurrentHashMap.newKeySet();
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      scope.call("bound", () -> tree.acceptParallel(pool, 2, new TypedVisitor<Node>() {
+        @Override
+        public void visit(Node element) {
+          values.add(String.valueOf(scope.get()));
+        }
+
+        @Override
+        public boolean isThreadSafe() {
+          return true;
+        }
+      }));
+    } finally {
+      pool.shutdown();
+    }
+    Assert.assertEquals(Collections.singleton("bound"), values);
+  }
+
+  private static Set<Node> visited(Node tree, boolean parallel) {
+    Set<Node> visited = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+    TypedVisitor<Node> visitor = new TypedVisitor<Node>() {
+      @Override
+      public void visit(Node element) {
+        Assert.assertTrue(visited.add(element));
+      }
+
+      @Override
+      public boolean isThreadSafe() {
+        return true;
+      }
+    };
+    if (parallel) {
+      ForkJoinPool pool = new ForkJoinPool(4);
+      try {
+        tree.acceptParallel(pool, 2, visitor);
+      } finally {
+        pool.shutdown();
+      }
+    } else {
+      tree.accept(visitor);
+    }
+    return visited;
+  }
+
+  private static Node tree(int depth, int fanOut) {
+    Node node = new Node();
+    if (depth > 0) {
+      List<Visitable> children = new ArrayList<>();
+      for (int i = 0; i < fanOut; i++) {
+        children.add(tree(depth - 1, fanOut));
+      }
+      node._visitables.get("children").addAll(children);
+    }
+    return node;
+  }
+
+  private static class Node extends BaseFluent<Node> {
+  }
+
+  private static class PrunedNode extends Node {
+    @Override
+    public Node accept(Visitor... visitors) {
+      for (Visitor visitor : visitors) {
+        visitor.visit(this);
+      }
+      return this;
+    }
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.builder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class VisitableMapTest {
+
+  @Test
+  public void testGetDoesNotCreateLists() {
+    VisitableMap map = new VisitableMap();
+    Assert.assertTrue(map.get("items").isEmpty());
+    Assert.assertFalse(map.get("items").remove(new Item()));
+    Assert.assertFalse(map.containsKey("items"));
+    Assert.assertFalse(map.iterator().hasNext());
+  }
+
+  @Test
+  public void testModificationCreatesList() {
+    VisitableMap map = new VisitableMap();
+    Item first = new Item();
+    Item second = new Item();
+    map.get("items").add(first);
+    map.get("items").add(0, second);
+    map.get("other").add(new Item());
+
+    Assert.assertTrue(map.containsKey("items"));
+    Assert.assertEquals(2, map.get("items").size());
+    Assert.assertSame(second, map.get("items").get(0));
+    Assert.assertEquals(3, map.aggregate().size());
+
+    map.remove("other");
+    List<Visitable> visited = new ArrayList<>();
+    map.forEach((Visitable v) -> visited.add(v));
+    Assert.assertEquals(2, visited.size());
+  }
+
+  @Test
+  public void testIterationToleratesChanges() {
+    VisitableMap map = new VisitableMap();
+    map.get("items").add(new Item());
+    map.get("items").add(new Item());
+
+    int count = 0;
+    for (Visitable visitable : map) {
+      map.get("items").remove(visitable);
+      map.get("other").add(new Item());
+      count++;
+    }
+    Assert.assertEquals(2, count);
+    Assert.assertTrue(map.get("items").isEmpty());
+    Assert.assertEquals(2, map.get("other").size());
+  }
+
+  @Test
+  public void testForEachDoesNotVisitAddedChildren() {
+    VisitableMap map = new VisitableMap();
+    map.get("items").add(new Item());
+    map.get("items").add(new Item());
+
+    List<Visitable> visited = new ArrayList<>();
+    map.forEach((Visitable v) -> {
+      visited.add(v);
+      map.get("items").add(new Item());
+    });
+    Assert.assertEquals(2, visited.size());
+    Assert.assertEquals(4, map.get("items").size());
+  }
+
+  @Test
+  public void testIterationToleratesRemovalOfLaterSiblings() {
+    VisitableMap map = new VisitableMap();
+    Item first = new Item();
+    Item second = new Item();
+    Item third = new Item();
+    map.get("items").addAll(Arrays.asList(first, second, third));
+
+    List<Visitable> visited = new ArrayList<>();
+    for (Visitable visitable : map) {
+      visited.add(visitable);
+      map.get("items").remove(second);
+    }
+    Assert.assertEquals(Arrays.asList(first, third), visited);
+  }
+
+  @Test
+  public void testIterationSeesMapChangesNotMadeThroughTheMap() {
+    VisitableMap map = new VisitableMap();
+    map.get("items").add(new Item());
+    Assert.assertTrue(map.iterator().hasNext());
+
+    map.keySet().remove("items");
+    map.get("other").add(new Item());
+    map.entrySet().iterator().next().setValue(new ArrayList<>());
+    Assert.assertFalse(map.iterator().hasNext());
+
+    VisitableMap clone = (VisitableMap) map.clone();
+    clone.put("items", new ArrayList<>(Arrays.asList(new Item())));
+    Assert.assertFalse(map.iterator().hasNext());
+    Assert.assertTrue(clone.iterator().hasNext());
+  }
+
+  private static class Item implements Visitable<Item> {
+    @Override
+    public Item accept(Visitor... visitor) {
+      return this;
+    }
+  }
+}
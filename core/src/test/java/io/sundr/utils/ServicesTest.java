@@ -0,0 +1,58 @@
+/**
+ * Copyright 2015 The original authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+**/
+
+package io.sundr.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.Test;
+
+public class ServicesTest {
+
+  public static class Indexed {
+  }
+
+  @Test
+  public void shouldIndexSameNamedClassesOfDifferentLoadersSeparately() throws Exception {
+    List<Class<?>> lookups = new ArrayList<>();
+    Function<Class<?>, Runnable> index = Services.index(Runnable.class, type -> {
+      lookups.add(type);
+      return r -> true;
+    });
+
+    assertNull(index.apply(Indexed.class));
+    assertNull(index.apply(Indexed.class));
+    assertEquals(1, lookups.size());
+
+    URL classes = ServicesTest.class.getProtectionDomain().getCodeSource().getLocation();
+    try (URLClassLoader loader = new URLClassLoader(new URL[] { classes }, null)) {
+      Class<?> other = loader.loadClass(Indexed.class.getName());
+      assertNotSame(Indexed.class, other);
+      assertNull(index.apply(other));
+      assertEquals(2, lookups.size());
+      assertEquals(other, lookups.get(1));
+    }
+  }
+}
@@ -208,7 +208,7 @@ public class GenerateBomMojo extends AbstractSundrioMojo {
           .orElse(VelocityRenderer.fromTemplateResource(bomTemplateResource)
               .orElseThrow(() -> new IllegalStateException("Neither bom template URL nor bom template resource was found.")));
       CodeGenerator.newGenerator(Model.class)
-          .withOutput(output)
+          .withOutput(output.skipUnchanged())
           .skipping(t -> false) //don't skip 
           .withRenderer(renderer)
           .generate(projectToGenerate.getModel());
@@ -17,8 +17,8 @@
 
 package io.sundr.model;
 
+import java.io.IOException;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public interface Annotatable extends Node {
 
@@ -31,12 +31,24 @@ public interface Annotatable extends Node {
    * @return the rendered annotations.
    */
   default String renderAnnotations(String indent) {
-    StringBuilder sb = new StringBuilder();
+    return Renderables.toString(out -> renderAnnotations(out, indent));
+  }
+
+  /**
+   * Render the annotations into the specified {@link Appendable}.
+   *
+   * @param out the {@link Appendable} to render into.
+   * @param indent the indentation to use for rendering the annotations
+   * @throws IOException if the {@link Appendable} fails.
+   */
+  default void renderAnnotations(Appendable out, String indent) throws IOException {
     if (getAnnotations() != null && !getAnnotations().isEmpty()) {
-      sb.append(
-          getAnnotations().stream().map(Renderable::render).map(line -> indent + line + NEWLINE).collect(Collectors.joining()));
-      sb.append(indent); //This one is to make sure that lines with annotations are aligned with the rest
+      for (AnnotationRef annotation : getAnnotations()) {
+        out.append(indent);
+        annotation.render(out);
+        out.append(NEWLINE);
+      }
+      out.append(indent); //This one is to make sure that lines with annotations are aligned with the rest
     }
-    return sb.toString();
   }
 }
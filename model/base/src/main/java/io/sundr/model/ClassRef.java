@@ -16,6 +16,7 @@
 
 package io.sundr.model;
 
+import java.io.IOException;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -34,6 +35,8 @@ public class ClassRef extends TypeRef implements Nameable, Mappable<ClassRef> {
   private final int dimensions;
   private final List<TypeRef> arguments;
 
+  private volatile Set<ClassRef> references;
+
   public ClassRef(String fullyQualifiedName, int dimensions, List<TypeRef> arguments,
       Map<AttributeKey, Object> attributes) {
     super(attributes);
@@ -63,6 +66,15 @@ public class ClassRef extends TypeRef implements Nameable, Mappable<ClassRef> {
   }
 
   public Set<ClassRef> getReferences() {
+    Set<ClassRef> result = references;
+    if (result == null) {
+      result = Collections.unmodifiableSet(computeReferences());
+      references = result;
+    }
+    return result;
+  }
+
+  private Set<ClassRef> computeReferences() {
     Set<ClassRef> refs = new LinkedHashSet<ClassRef>();
     for (TypeRef argument : arguments) {
       if (argument instanceof ClassRef) {
@@ -115,17 +127,26 @@ public class ClassRef extends TypeRef implements Nameable, Mappable<ClassRef> {
 
   @Override
   public String render(TypeDef enclosingType) {
-    StringBuilder sb = new StringBuilder();
-    sb.append(fullyQualifiedName);
+    return Renderables.toString(out -> render(out, enclosingType));
+  }
+
+  @Override
+  public void render(Appendable out, TypeDef enclosingType) throws IOException {
+    out.append(fullyQualifiedName);
     if (arguments.size() > 0) {
-      sb.append(LT);
-      sb.append(arguments.stream().map(a -> a.render(enclosingType)).collect(Collectors.joining(COMA)));
-      sb.append(GT);
+      out.append(LT);
+      for (int i = 0; i < arguments.size(); i++) {
+        if (i > 0) {
+          out.append(COMA);
+        }
+        arguments.get(i).render(out, enclosingType);
+      }
+      out.append(GT);
     }
 
     for (int i = 0; i < dimensions; i++) {
-      sb.append(BRACKETS);
+      out.append(BRACKETS);
     }
-    return sb.toString();
   }
+
 }
@@ -17,8 +17,8 @@
 
 package io.sundr.model;
 
+import java.io.IOException;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public interface Commentable extends Node {
 
@@ -36,14 +36,24 @@ public interface Commentable extends Node {
    * @return the rendered comments as a string.
    */
   default String renderComments(String indent) {
-    StringBuilder sb = new StringBuilder();
+    return Renderables.toString(out -> renderComments(out, indent));
+  }
+
+  /**
+   * Render the comments into the specified {@link Appendable}.
+   *
+   * @param out the {@link Appendable} to render into.
+   * @param indent the identation to use for the comments
+   * @throws IOException if the {@link Appendable} fails.
+   */
+  default void renderComments(Appendable out, String indent) throws IOException {
     if (getComments() != null && !getComments().isEmpty()) {
-      sb.append(NEWLINE);
-      sb.append(indent).append(OC).append(NEWLINE);
-      sb.append(
-          getComments().stream().map(line -> indent + CLP + line + NEWLINE).collect(Collectors.joining()));
-      sb.append(indent).append(CC).append(NEWLINE);
+      out.append(NEWLINE);
+      out.append(indent).append(OC).append(NEWLINE);
+      for (String line : getComments()) {
+        out.append(indent).append(CLP).append(line).append(NEWLINE);
+      }
+      out.append(indent).append(CC).append(NEWLINE);
     }
-    return sb.toString();
   }
 }
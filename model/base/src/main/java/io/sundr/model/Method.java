@@ -16,6 +16,7 @@
 
 package io.sundr.model;
 
+import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashSet;
@@ -39,6 +40,8 @@ public class Method extends ModifierSupport implements Renderable, Commentable,
   private final boolean defaultMethod;
   private final Block block;
 
+  private volatile Set<ClassRef> references;
+
   public Method(List<String> comments, List<AnnotationRef> annotations, List<TypeParamDef> parameters, String name,
       TypeRef returnType, List<Property> arguments, boolean varArgPreferred, List<ClassRef> exceptions, boolean defaultMethod,
       Block block, int modifiers, Map<AttributeKey, Object> attributes) {
@@ -102,6 +105,15 @@ public class Method extends ModifierSupport implements Renderable, Commentable,
   }
 
   public Set<ClassRef> getReferences() {
+    Set<ClassRef> result = references;
+    if (result == null) {
+      result = Collections.unmodifiableSet(computeReferences());
+      references = result;
+    }
+    return result;
+  }
+
+  private Set<ClassRef> computeReferences() {
     Set<ClassRef> refs = new LinkedHashSet<ClassRef>();
 
     for (AnnotationRef annotationRef : annotations) {
@@ -263,21 +275,26 @@ public class Method extends ModifierSupport implements Renderable, Commentable,
 
   @Override
   public String render(TypeDef enclosingType) {
-    StringBuilder sb = new StringBuilder();
-    renderDefinition(sb, enclosingType);
+    return Renderables.toString(out -> render(out, enclosingType));
+  }
+
+  @Override
+  public void render(Appendable out, TypeDef enclosingType) throws IOException {
+    StringBuilder definition = new StringBuilder();
+    renderDefinition(definition, enclosingType);
+    out.append(definition);
     boolean renderBody = isDefaultMethod() || (enclosingType != null && enclosingType.getKind() != Kind.INTERFACE);
 
     if (renderBody) {
       String indent = enclosingType != null && enclosingType.getOuterTypeName() != null ? "    " : "  ";
-      sb.append(SPACE).append(OB).append(NEWLINE);
+      out.append(SPACE).append(OB).append(NEWLINE);
       if (getBlock() != null) {
-        sb.append(getBlock().getStatements().stream().map(s -> indent + "  " + s + NEWLINE).collect(Collectors.joining()));
+        getBlock().render(out, indent + "  ");
       }
-      sb.append(indent).append(CB);
+      out.append(indent).append(CB);
     } else {
-      sb.append(SEMICOLN);
+      out.append(SEMICOLN);
     }
-    return sb.toString();
   }
 
   @Override
@@ -28,6 +28,7 @@ public class ModifierSupport extends AttributeSupport {
   public static final String STATIC = "static";
   public static final String FINAL = "final";
   public static final String SYNCHRONIZED = "synchronized";
+  public static final String TRANSIENT = "transient";
 
   protected final int modifiers;
 
@@ -16,7 +16,9 @@
 
 package io.sundr.model;
 
+import java.io.IOException;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -31,6 +33,8 @@ public class Property extends ModifierSupport implements Renderable, Commentable
   private final String name;
   private final List<String> comments;
 
+  private volatile Set<ClassRef> references;
+
   public Property(List<AnnotationRef> annotations, TypeRef typeRef, String name, List<String> comments, int modifiers,
       Map<AttributeKey, Object> attributes) {
     super(modifiers, attributes);
@@ -64,6 +68,15 @@ public class Property extends ModifierSupport implements Renderable, Commentable
   }
 
   public Set<ClassRef> getReferences() {
+    Set<ClassRef> result = references;
+    if (result == null) {
+      result = Collections.unmodifiableSet(computeReferences());
+      references = result;
+    }
+    return result;
+  }
+
+  private Set<ClassRef> computeReferences() {
     Set<ClassRef> refs = new LinkedHashSet<ClassRef>();
 
     for (AnnotationRef annotationRef : annotations) {
@@ -155,28 +168,33 @@ public class Property extends ModifierSupport implements Renderable, Commentable
 
   @Override
   public String render(TypeDef enclosingType) {
-    StringBuilder sb = new StringBuilder();
+    return Renderables.toString(out -> render(out, enclosingType));
+  }
 
+  @Override
+  public void render(Appendable out, TypeDef enclosingType) throws IOException {
     if (isPublic()) {
-      sb.append(PUBLIC).append(SPACE);
+      out.append(PUBLIC).append(SPACE);
     } else if (isProtected()) {
-      sb.append(PROTECTED).append(SPACE);
+      out.append(PROTECTED).append(SPACE);
     } else if (isPrivate()) {
-      sb.append(PRIVATE).append(SPACE);
+      out.append(PRIVATE).append(SPACE);
     }
 
     if (isStatic()) {
-      sb.append(STATIC).append(SPACE);
+      out.append(STATIC).append(SPACE);
     }
 
     if (isFinal()) {
-      sb.append(FINAL).append(SPACE);
+      out.append(FINAL).append(SPACE);
     }
 
-    sb.append(typeRef.render(enclosingType)).append(SPACE);
-    sb.append(name);
+    if (isTransient()) {
+      out.append(TRANSIENT).append(SPACE);
+    }
 
-    return sb.toString();
+    typeRef.render(out, enclosingType);
+    out.append(SPACE).append(name);
   }
 
   @Override
@@ -199,6 +217,10 @@ public class Property extends ModifierSupport implements Renderable, Commentable
       sb.append(FINAL).append(SPACE);
     }
 
+    if (isTransient()) {
+      sb.append(TRANSIENT).append(SPACE);
+    }
+
     sb.append(typeRef).append(SPACE);
     sb.append(name);
 
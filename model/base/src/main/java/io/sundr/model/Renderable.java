@@ -17,6 +17,8 @@
 
 package io.sundr.model;
 
+import java.io.IOException;
+
 public interface Renderable {
 
   /**
@@ -30,7 +32,7 @@ public interface Renderable {
    * @return the {@link String} representation of the object as it's meant to appear in the generated code.
    */
   default String render() {
-    return render(null);
+    return render((TypeDef) null);
   }
 
   /**
@@ -44,4 +46,28 @@ public interface Renderable {
   default String render(TypeDef enclosingType) {
     return toString();
   }
+
+  /**
+   * Render the type directly into the specified {@link Appendable}.
+   * This is the streaming equivalent of {@link #render()}.
+   *
+   * @param out the {@link Appendable} to render into.
+   * @throws IOException if the {@link Appendable} fails.
+   */
+  default void render(Appendable out) throws IOException {
+    render(out, null);
+  }
+
+  /**
+   * Render the type directly into the specified {@link Appendable}.
+   * This is the streaming equivalent of {@link #render(TypeDef)}, which allows large types to be written out
+   * without materializing them as a {@link String} first.
+   *
+   * @param out the {@link Appendable} to render into.
+   * @param enclosingType The type that encoses the current {@link Renderable}.
+   * @throws IOException if the {@link Appendable} fails.
+   */
+  default void render(Appendable out, TypeDef enclosingType) throws IOException {
+    out.append(render(enclosingType));
+  }
 }
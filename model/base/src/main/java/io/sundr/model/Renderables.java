@@ -0,0 +1,46 @@
+/**
+ * Copyright 2015 The original authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+**/
+package io.sundr.model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Bridges the {@link Appendable} based rendering methods to their {@link String} counterparts.
+ */
+final class Renderables {
+
+  @FunctionalInterface
+  interface Rendering {
+    void renderTo(Appendable out) throws IOException;
+  }
+
+  private Renderables() {
+    //Utility class
+  }
+
+  static String toString(Rendering rendering) {
+    StringBuilder sb = new StringBuilder();
+    try {
+      rendering.renderTo(sb);
+    } catch (IOException e) {
+      //A StringBuilder never throws.
+      throw new UncheckedIOException(e);
+    }
+    return sb.toString();
+  }
+}
@@ -16,6 +16,7 @@
 
 package io.sundr.model;
 
+import java.io.IOException;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -53,6 +54,12 @@ public class TypeDef extends ModifierSupport implements Renderable, Nameable, An
   private final String outerTypeName;
   private final List<TypeDef> innerTypes;
 
+  /**
+   * Lazily computed references and imports. TypeDef is immutable, so these are computed at most once per instance.
+   */
+  private volatile List<ClassRef> references;
+  private volatile Set<String> imports;
+
   public TypeDef(Kind kind, String packageName, String name, List<String> comments, List<AnnotationRef> annotations,
       List<ClassRef> extendsList, List<ClassRef> implementsList, List<TypeParamDef> parameters, List<Property> properties,
       List<Method> constructors, List<Method> methods, String outerTypeName, List<TypeDef> innerTypes, int modifiers,
@@ -300,6 +307,15 @@ public class TypeDef extends ModifierSupport implements Renderable, Nameable, An
   }
 
   public Set<String> getImports() {
+    Set<String> result = imports;
+    if (result == null) {
+      result = Collections.unmodifiableSet(computeImports());
+      imports = result;
+    }
+    return result;
+  }
+
+  private Set<String> computeImports() {
     final Set<String> imports = new LinkedHashSet<String>();
     for (ClassRef ref : getReferenceMap().values()) {
       if (ref.getPackageName() == null ||
@@ -323,7 +339,7 @@ public class TypeDef extends ModifierSupport implements Renderable, Nameable, An
    */
   private Map<String, ClassRef> getReferenceMap() {
     Map<String, ClassRef> mapping = new HashMap<String, ClassRef>();
-    List<ClassRef> refs = getReferences();
+    List<ClassRef> refs = new ArrayList<ClassRef>(getReferences());
 
     //It's best to have predictable order, so that we can generate uniform code.
     Collections.sort(refs, new Comparator<ClassRef>() {
@@ -343,6 +359,15 @@ public class TypeDef extends ModifierSupport implements Renderable, Nameable, An
   }
 
   public List<ClassRef> getReferences() {
+    List<ClassRef> result = references;
+    if (result == null) {
+      result = Collections.unmodifiableList(computeReferences());
+      references = result;
+    }
+    return result;
+  }
+
+  private List<ClassRef> computeReferences() {
     final List<ClassRef> refs = new ArrayList<ClassRef>();
 
     for (AnnotationRef a : annotations) {
@@ -422,64 +447,69 @@ public class TypeDef extends ModifierSupport implements Renderable, Nameable, An
 
   @Override
   public String render() {
-    StringBuilder sb = new StringBuilder();
+    return Renderables.toString(this::render);
+  }
+
+  @Override
+  public void render(Appendable out) throws IOException {
     String indent = outerTypeName == null ? "  " : "    ";
     String halfIndent = outerTypeName == null ? "" : "  ";
 
     // We only need to render those for the outermost type
     if (outerTypeName == null) {
-      sb.append("package ").append(getPackageName()).append(SEMICOLN).append(NEWLINE);
-      sb.append(NEWLINE);
+      out.append("package ").append(getPackageName()).append(SEMICOLN).append(NEWLINE);
+      out.append(NEWLINE);
       for (String i : getImports()) {
-        sb.append("import ").append(i).append(SEMICOLN).append(NEWLINE);
+        out.append("import ").append(i).append(SEMICOLN).append(NEWLINE);
       }
     }
 
     if (comments != null && !comments.isEmpty()) {
-      sb.append(renderComments(SPACE));
+      renderComments(out, SPACE);
     }
 
     if (annotations != null && !annotations.isEmpty()) {
-      sb.append(renderAnnotations(indent));
+      renderAnnotations(out, indent);
     }
 
-    renderDefinition(sb);
-    sb.append(OB).append(NEWLINE).append(indent);
+    StringBuilder definition = new StringBuilder();
+    renderDefinition(definition);
+    out.append(definition);
+    out.append(OB).append(NEWLINE).append(indent);
 
     if (kind != Kind.INTERFACE) {
       for (Method constructors : getConstructors()) {
-        sb.append(constructors.renderComments(indent));
-        sb.append(constructors.renderAnnotations(indent));
-        sb.append(constructors.render(this));
-        sb.append(NEWLINE).append(indent);
+        constructors.renderComments(out, indent);
+        constructors.renderAnnotations(out, indent);
+        constructors.render(out, this);
+        out.append(NEWLINE).append(indent);
       }
 
       for (Property field : getProperties()) {
-        sb.append(field.renderComments(indent));
-        sb.append(field.renderAnnotations(indent));
-        sb.append(field.render(this));
+        field.renderComments(out, indent);
+        field.renderAnnotations(out, indent);
+        field.render(out, this);
         if (field.getAttribute(INIT) != null) {
-          sb.append(" = ").append(field.getDefaultValue());
+          out.append(" = ").append(String.valueOf(field.getDefaultValue()));
         }
 
-        sb.append(SEMICOLN).append(NEWLINE).append(indent);
+        out.append(SEMICOLN).append(NEWLINE).append(indent);
       }
     }
 
     for (Method method : getMethods()) {
-      sb.append(method.renderComments(indent));
-      sb.append(method.renderAnnotations(indent));
-      sb.append(method.render(this));
-      sb.append(NEWLINE).append(indent);
+      method.renderComments(out, indent);
+      method.renderAnnotations(out, indent);
+      method.render(out, this);
+      out.append(NEWLINE).append(indent);
     }
 
     for (TypeDef innerType : innerTypes) {
-      sb.append(innerType.render());
-      sb.append(NEWLINE).append(indent);
+      innerType.render(out);
+      out.append(NEWLINE).append(indent);
     }
 
-    sb.append(NEWLINE).append(halfIndent).append(CB);
-    return sb.toString();
+    out.append(NEWLINE).append(halfIndent).append(CB);
   }
 
   @Override
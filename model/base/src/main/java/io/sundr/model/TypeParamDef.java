@@ -16,6 +16,7 @@
 
 package io.sundr.model;
 
+import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -81,6 +82,11 @@ public class TypeParamDef extends AttributeSupport implements Renderable {
     return sb.toString();
   }
 
+  @Override
+  public void render(Appendable out) throws IOException {
+    out.append(render());
+  }
+
   @Override
   public String toString() {
     StringBuilder sb = new StringBuilder();
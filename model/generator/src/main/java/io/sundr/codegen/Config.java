@@ -20,7 +20,7 @@ package io.sundr.codegen;
 import io.sundr.builder.annotations.ExternalBuildables;
 
 @ExternalBuildables(lazyCollectionInitEnabled = false, lazyMapInitEnabled = false, includeAbstractClasses = true, includeInterfaces = false, value = "io.sundr.model", excludes = {
-    "io.sundr.model.AttributeKey" })
+    "io.sundr.model.AttributeKey", "io.sundr.model.Renderables" })
 public class Config {
 
 }
@@ -28,27 +28,56 @@ import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import io.sundr.Metrics;
+import io.sundr.Scope;
 import io.sundr.SundrException;
 import io.sundr.model.AttributeKey;
 import io.sundr.model.ClassRef;
+import io.sundr.model.Nameable;
 import io.sundr.model.TypeDef;
 import io.sundr.model.TypeDefBuilder;
 import io.sundr.model.TypeRef;
 
 public class DefinitionRepository {
 
-  private static DefinitionRepository INSTANCE;
-  private static DefinitionRepository SCOPE;
+  private static final DefinitionRepository INSTANCE = new DefinitionRepository();
+  private static final Scope<DefinitionRepository> SCOPE = new Scope<>();
 
   private final ConcurrentMap<String, TypeDef> definitions = new ConcurrentHashMap<String, TypeDef>();
   private final ConcurrentMap<String, Supplier<TypeDef>> suppliers = new ConcurrentHashMap<String, Supplier<TypeDef>>();
+  /**
+   * Suppliers of the headers of definitions that haven't been resolved yet, see {@link #getHeader(String)}.
+   */
+  private final ConcurrentMap<String, Supplier<TypeDef>> headers = new ConcurrentHashMap<String, Supplier<TypeDef>>();
+
+  /**
+   * The names of the definitions that have each boolean attribute set to true.
+   * Indexed both by key and by name, as flags registered by name use a new key each time.
+   */
+  private final ConcurrentMap<AttributeKey<?>, Set<String>> attributeIndex = new ConcurrentHashMap<AttributeKey<?>, Set<String>>();
+  private final ConcurrentMap<String, Set<String>> flagIndex = new ConcurrentHashMap<String, Set<String>>();
+
+  /**
+   * The fully qualified name that each simple name refers to, maintained as definitions are registered.
+   * When multiple definitions share a simple name, the fully qualified name that sorts first wins,
+   * so that the mapping doesn't depend on the registration order.
+   */
+  private final ConcurrentMap<String, String> references = new ConcurrentHashMap<String, String>();
+
+  private volatile Map<String, String> snapshot;
 
-  private Map<String, String> snapshot;
+  /**
+   * Services that cache information derived from the definitions, see {@link #getService(Class, Function)}.
+   */
+  private final ConcurrentMap<Class<?>, Object> services = new ConcurrentHashMap<Class<?>, Object>();
+  private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<Consumer<String>>();
 
   private DefinitionRepository() {
   }
@@ -62,16 +91,15 @@ public class DefinitionRepository {
    * repo instead of the Singleton intance.
    * The same goes for Definition.withNewRepository(repo -{@literal >} { ... }).
    * 
+   * The scope is bound to the current thread, so that threads using different repositories don't affect each other.
+   * Work that is handed over to other threads, needs to be wrapped using {@link io.sundr.Scope#wrap(Callable)}, to see the
+   * repository of the submitting thread.
+   *
    * @return the scoped instance if called from within withRepo/withNewRepo lambda, or the singleton instance otherwise.
    */
-  public static synchronized final DefinitionRepository getRepository() {
-    if (SCOPE != null) {
-      return SCOPE;
-    }
-    if (INSTANCE == null) {
-      INSTANCE = new DefinitionRepository();
-    }
-    return INSTANCE;
+  public static final DefinitionRepository getRepository() {
+    DefinitionRepository scoped = SCOPE.get();
+    return scoped != null ? scoped : INSTANCE;
   }
 
   /**
@@ -95,12 +123,27 @@ public class DefinitionRepository {
     if (definitions.containsKey(fqcn)) {
       return;
     }
+    if (suppliers.putIfAbsent(fqcn, new MemoizedSupplier(supplier)) == null) {
+      reference(fqcn);
+      notifyListeners(fqcn);
+    }
+  }
 
-    if (suppliers.containsKey(fqcn)) {
+  /**
+   * Register a definition that is resolved when it's first requested, along with a cheaper supplier of its header.
+   * The header is the definition without its members (e.g. just its name, kind, parameters and supertypes) and it's
+   * used, instead of the full definition, by {@link #getHeader(String)} until the full definition gets resolved.
+   *
+   * @param fqcn the fully qualified name of the definition.
+   * @param header the supplier of the header.
+   * @param supplier the supplier of the full definition.
+   */
+  public synchronized void registerIfAbsent(String fqcn, Supplier<TypeDef> header, Supplier<TypeDef> supplier) {
+    if (definitions.containsKey(fqcn) || suppliers.containsKey(fqcn)) {
       return;
     }
-
-    suppliers.put(fqcn, supplier);
+    headers.put(fqcn, new MemoizedSupplier(header));
+    registerIfAbsent(fqcn, supplier);
   }
 
   public synchronized void registerIfAbsent(TypeDef definition) {
@@ -109,15 +152,25 @@ public class DefinitionRepository {
     }
 
     String fqcn = definition.getFullyQualifiedName();
-    if (definitions.containsKey(fqcn)) {
-      return;
-    } else {
-      definitions.put(fqcn, definition);
+    if (definitions.putIfAbsent(fqcn, definition) == null) {
+      headers.remove(fqcn);
+      index(definition);
+      reference(fqcn);
+      notifyListeners(fqcn);
     }
   }
 
   public synchronized TypeDef register(TypeDef definition) {
-    definitions.put(definition.getFullyQualifiedName(), definition);
+    String fqcn = definition.getFullyQualifiedName();
+    TypeDef previous = definitions.put(fqcn, definition);
+    headers.remove(fqcn);
+    if (previous != null) {
+      unindex(previous);
+    } else {
+      reference(fqcn);
+    }
+    index(definition);
+    notifyListeners(fqcn);
     return definition;
   }
 
@@ -137,115 +190,234 @@ public class DefinitionRepository {
     return register(builder.build());
   }
 
-  public synchronized Set<TypeDef> getDefinitions(String... flags) {
-    Set<TypeDef> result = new LinkedHashSet<TypeDef>();
-    for (TypeDef candidate : definitions.values()) {
-      boolean matches = true;
-      for (String flag : flags) {
-        AttributeKey<Boolean> attributeKey = new AttributeKey<Boolean>(flag, Boolean.class);
-        if (!candidate.hasAttribute(attributeKey) || !(candidate.getAttribute(attributeKey))) {
-          matches = false;
-          break;
-        }
-      }
-      if (matches) {
-        result.add(candidate);
-      }
+  public Set<TypeDef> getDefinitions(String... flags) {
+    if (flags.length == 0) {
+      return Collections.unmodifiableSet(new LinkedHashSet<TypeDef>(definitions.values()));
     }
-
-    return Collections.unmodifiableSet(result);
+    List<Set<String>> candidates = new ArrayList<Set<String>>(flags.length);
+    for (String flag : flags) {
+      candidates.add(flagIndex.getOrDefault(flag, Collections.emptySet()));
+    }
+    return getIndexedDefinitions(candidates);
   }
 
-  public synchronized Set<TypeDef> getDefinitions(AttributeKey<Boolean>... attributeKeys) {
-
-    Set<TypeDef> result = new LinkedHashSet<TypeDef>();
-    for (TypeDef candidate : definitions.values()) {
-      boolean matches = true;
-      for (AttributeKey<Boolean> attributeKey : attributeKeys) {
-        if (!candidate.hasAttribute(attributeKey) || !(candidate.getAttribute(attributeKey))) {
-          matches = false;
-          break;
-        }
-      }
-      if (matches) {
-        result.add(candidate);
-      }
+  public Set<TypeDef> getDefinitions(AttributeKey<Boolean>... attributeKeys) {
+    if (attributeKeys.length == 0) {
+      return Collections.unmodifiableSet(new LinkedHashSet<TypeDef>(definitions.values()));
     }
-
-    return Collections.unmodifiableSet(result);
+    List<Set<String>> candidates = new ArrayList<Set<String>>(attributeKeys.length);
+    for (AttributeKey<Boolean> attributeKey : attributeKeys) {
+      candidates.add(attributeIndex.getOrDefault(attributeKey, Collections.emptySet()));
+    }
+    return getIndexedDefinitions(candidates);
   }
 
-  public synchronized boolean hasDefinition(String fullyQualifiedName) {
+  public boolean hasDefinition(String fullyQualifiedName) {
     return definitions.containsKey(fullyQualifiedName) || suppliers.containsKey(fullyQualifiedName);
   }
 
-  public synchronized TypeDef getDefinition(String fullyQualifiedName) {
-    if (definitions.containsKey(fullyQualifiedName)) {
-      return definitions.get(fullyQualifiedName);
+  public TypeDef getDefinition(String fullyQualifiedName) {
+    Metrics.increment("repository.lookup");
+    TypeDef typeDef = definitions.get(fullyQualifiedName);
+    if (typeDef != null) {
+      return typeDef;
+    }
+
+    Supplier<TypeDef> supplier = suppliers.get(fullyQualifiedName);
+    if (supplier == null) {
+      Metrics.increment("repository.miss");
+      return null;
+    }
+
+    //The supplier is memoized, so it's only evaluated once, without blocking readers of other definitions.
+    typeDef = supplier.get();
+    if (typeDef == null) {
+      return null;
     }
-    if (suppliers.containsKey(fullyQualifiedName)) {
-      TypeDef typeDef = suppliers.get(fullyQualifiedName).get();
-      if (!definitions.containsKey(fullyQualifiedName)) {
-        definitions.put(fullyQualifiedName, typeDef);
-        return typeDef;
-      } else {
-        return definitions.get(fullyQualifiedName);
+    synchronized (this) {
+      TypeDef existing = definitions.putIfAbsent(fullyQualifiedName, typeDef);
+      if (existing != null) {
+        return existing;
       }
+      index(typeDef);
+      headers.remove(fullyQualifiedName);
+      return typeDef;
     }
-    return null;
   }
 
-  public synchronized TypeDef getDefinition(TypeRef type) {
+  /**
+   * Get the header of the definition, which is enough to tell its kind, parameters and supertypes.
+   * This is the definition itself, unless it has been registered with a supplier of its header and hasn't been
+   * resolved yet. In that case only the header is resolved, leaving the full definition to be resolved on demand.
+   *
+   * @param fullyQualifiedName the fully qualified name of the definition.
+   * @return the header, or null if the definition is not known.
+   */
+  public TypeDef getHeader(String fullyQualifiedName) {
+    TypeDef typeDef = definitions.get(fullyQualifiedName);
+    if (typeDef != null) {
+      return typeDef;
+    }
+    Supplier<TypeDef> header = headers.get(fullyQualifiedName);
+    if (header != null) {
+      Metrics.increment("repository.header");
+      return header.get();
+    }
+    return getDefinition(fullyQualifiedName);
+  }
+
+  public TypeDef getDefinition(TypeRef type) {
     if (type instanceof ClassRef) {
       return getDefinition(((ClassRef) type).getFullyQualifiedName());
     }
     return null;
   }
 
-  public synchronized Collection<TypeDef> getDefinitions() {
+  public Collection<TypeDef> getDefinitions() {
     return Stream.concat(definitions.keySet().stream(), suppliers.keySet().stream()).distinct().map(k -> getDefinition(k))
         .collect(Collectors.toSet());
   }
 
+  /**
+   * Get the service of the specified type that is bound to this repository, creating it if needed.
+   * Services are dropped when the repository is cleared.
+   *
+   * @param type the type of the service.
+   * @param factory the function that creates the service for this repository.
+   * @param <S> the type of the service.
+   * @return the service.
+   */
+  public <S> S getService(Class<S> type, Function<DefinitionRepository, S> factory) {
+    return type.cast(services.computeIfAbsent(type, t -> factory.apply(this)));
+  }
+
+  /**
+   * Add a listener that is notified with the fully qualified name of each definition that is registered.
+   * The listener is notified while the repository is locked, so it should not call back into the repository.
+   * Listeners are dropped when the repository is cleared.
+   *
+   * @param listener the listener.
+   */
+  public void addListener(Consumer<String> listener) {
+    listeners.add(listener);
+  }
+
   public synchronized void updateReferenceMap() {
     snapshot = getReferenceMapInternal();
   }
 
-  public synchronized Map<String, String> getReferenceMap() {
-    if (snapshot == null) {
-      snapshot = getReferenceMapInternal();
+  public Map<String, String> getReferenceMap() {
+    Map<String, String> result = snapshot;
+    if (result == null) {
+      synchronized (this) {
+        if (snapshot == null) {
+          snapshot = getReferenceMapInternal();
+        }
+        result = snapshot;
+      }
     }
-    return snapshot;
+    return result;
   }
 
   private Map<String, String> getReferenceMapInternal() {
-    Map<String, String> mapping = new HashMap<String, String>();
-    List<ClassRef> refs = new ArrayList<ClassRef>();
-    for (TypeDef typeDef : getDefinitions()) {
-      refs.add(typeDef.toInternalReference());
+    return Collections.unmodifiableMap(new HashMap<String, String>(references));
+  }
+
+  private void reference(String fqcn) {
+    references.merge(Nameable.getClassName(fqcn), fqcn, (existing, candidate) -> existing.compareTo(candidate) <= 0
+        ? existing
+        : candidate);
+  }
+
+  public synchronized void clear() {
+    definitions.clear();
+    suppliers.clear();
+    headers.clear();
+    attributeIndex.clear();
+    flagIndex.clear();
+    references.clear();
+    services.clear();
+    listeners.clear();
+  }
+
+  private void notifyListeners(String fqcn) {
+    for (Consumer<String> listener : listeners) {
+      listener.accept(fqcn);
     }
+  }
 
-    //It's best to have predictable order, so that we can generate uniform code.
-    Collections.sort(refs, new Comparator<ClassRef>() {
-      @Override
-      public int compare(ClassRef o1, ClassRef o2) {
-        return o1.getFullyQualifiedName().compareTo(o2.getFullyQualifiedName());
+  private Set<TypeDef> getIndexedDefinitions(List<Set<String>> candidates) {
+    //Start from the most selective index and check the rest against it.
+    candidates.sort(Comparator.comparingInt(Set::size));
+    Set<TypeDef> result = new LinkedHashSet<TypeDef>();
+    for (String fqcn : candidates.get(0)) {
+      boolean matches = true;
+      for (int i = 1; i < candidates.size() && matches; i++) {
+        matches = candidates.get(i).contains(fqcn);
+      }
+      TypeDef candidate = matches ? definitions.get(fqcn) : null;
+      if (candidate != null) {
+        result.add(candidate);
       }
-    });
+    }
+    return Collections.unmodifiableSet(result);
+  }
 
-    for (ClassRef classRef : refs) {
-      String key = classRef.getName();
-      if (!mapping.containsKey(key)) {
-        mapping.put(key, classRef.getFullyQualifiedName());
+  private void index(TypeDef definition) {
+    Map<AttributeKey, Object> attributes = definition.getAttributes();
+    if (attributes == null) {
+      return;
+    }
+    String fqcn = definition.getFullyQualifiedName();
+    for (Map.Entry<AttributeKey, Object> entry : attributes.entrySet()) {
+      if (Boolean.TRUE.equals(entry.getValue())) {
+        attributeIndex.computeIfAbsent(entry.getKey(), k -> ConcurrentHashMap.newKeySet()).add(fqcn);
+        flagIndex.computeIfAbsent(entry.getKey().getName(), k -> ConcurrentHashMap.newKeySet()).add(fqcn);
       }
     }
+  }
 
-    return mapping;
+  private void unindex(TypeDef definition) {
+    Map<AttributeKey, Object> attributes = definition.getAttributes();
+    if (attributes == null) {
+      return;
+    }
+    String fqcn = definition.getFullyQualifiedName();
+    for (Map.Entry<AttributeKey, Object> entry : attributes.entrySet()) {
+      if (Boolean.TRUE.equals(entry.getValue())) {
+        attributeIndex.getOrDefault(entry.getKey(), Collections.emptySet()).remove(fqcn);
+        flagIndex.getOrDefault(entry.getKey().getName(), Collections.emptySet()).remove(fqcn);
+      }
+    }
   }
 
-  public synchronized void clear() {
-    definitions.clear();
-    suppliers.clear();
+  /**
+   * A supplier that is evaluated at most once.
+   * Concurrent callers for the same definition wait for the first one, while other definitions are not affected.
+   */
+  private static final class MemoizedSupplier implements Supplier<TypeDef> {
+
+    private final Supplier<TypeDef> supplier;
+    private volatile TypeDef value;
+
+    private MemoizedSupplier(Supplier<TypeDef> supplier) {
+      this.supplier = supplier;
+    }
+
+    @Override
+    public TypeDef get() {
+      TypeDef result = value;
+      if (result == null) {
+        synchronized (this) {
+          result = value;
+          if (result == null) {
+            result = supplier.get();
+            value = result;
+          }
+        }
+      }
+      return result;
+    }
   }
 
   public static class WithRepo {
@@ -256,25 +428,15 @@ public class DefinitionRepository {
 
     private final DefinitionRepository repository;
 
-    public synchronized <V> V apply(Function<DefinitionRepository, V> function) {
-      try {
-        SCOPE = repository;
-        return function.apply(repository);
-      } catch (Exception e) {
-        throw new SundrException(e);
-      } finally {
-        SCOPE = null;
-      }
+    public <V> V apply(Function<DefinitionRepository, V> function) {
+      return call(() -> function.apply(repository));
     }
 
-    public synchronized <V> V call(Callable<V> callable) {
+    public <V> V call(Callable<V> callable) {
       try {
-        SCOPE = repository;
-        return callable.call();
+        return SCOPE.call(repository, callable);
       } catch (Exception e) {
         throw new SundrException(e);
-      } finally {
-        SCOPE = null;
       }
     }
   }
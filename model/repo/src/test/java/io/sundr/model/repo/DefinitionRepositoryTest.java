@@ -0,0 +1,156 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.model.repo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.sundr.Scope;
+import io.sundr.model.AttributeKey;
+import io.sundr.model.TypeDef;
+import io.sundr.model.TypeDefBuilder;
+
+public class DefinitionRepositoryTest {
+
+  private static final AttributeKey<Boolean> GENERATED = new AttributeKey<>("generated", Boolean.class);
+
+  @Test
+  public void shouldEvaluateSupplierOnce() throws Exception {
+    DefinitionRepository repository = DefinitionRepository.createRepository();
+    AtomicInteger invocations = new AtomicInteger();
+    repository.registerIfAbsent("my.pkg.Lazy", () -> {
+      invocations.incrementAndGet();
+      return TypeDef.forName("my.pkg.Lazy");
+    });
+
+    TypeDef first = repository.getDefinition("my.pkg.Lazy");
+    TypeDef second = repository.getDefinition("my.pkg.Lazy");
+
+    assertSame(first, second);
+    assertEquals(1, invocations.get());
+  }
+
+  @Test
+  public void shouldFindDefinitionsByFlag() throws Exception {
+    DefinitionRepository repository = DefinitionRepository.createRepository();
+    TypeDef generated = repository.register(TypeDef.forName("my.pkg.Generated"), GENERATED);
+    TypeDef flagged = repository.register(TypeDef.forName("my.pkg.Flagged"), "flagged");
+    repository.register(TypeDef.forName("my.pkg.Plain"));
+
+    assertEquals(Collections.singleton(generated), repository.getDefinitions(GENERATED));
+    assertEquals(Collections.singleton(flagged), repository.getDefinitions("flagged"));
+    assertEquals(3, repository.getDefinitions(new String[0]).size());
+  }
+
+  @Test
+  public void shouldUpdateIndexWhenDefinitionIsReplaced() throws Exception {
+    DefinitionRepository repository = DefinitionRepository.createRepository();
+    repository.register(TypeDef.forName("my.pkg.Generated"), GENERATED);
+    repository.register(new TypeDefBuilder(TypeDef.forName("my.pkg.Generated")).withAttributes(Collections.emptyMap()).build());
+
+    assertTrue(repository.getDefinitions(GENERATED).isEmpty());
+  }
+
+  @Test
+  public void shouldScopeRepositoryToThread() throws Exception {
+    DefinitionRepository outer = DefinitionRepository.createRepository();
+    DefinitionRepository inner = DefinitionRepository.createRepository();
+
+    DefinitionRepository.withRepository(outer).call(() -> {
+      ExecutorService executor = Executors.newSingleThreadExecutor();
+      try {
+        Future<DefinitionRepository> other = executor
+            .submit(() -> DefinitionRepository.withRepository(inner).call(DefinitionRepository::getRepository));
+        assertSame(inner, other.get());
+        assertSame(inner, DefinitionRepository.withRepository(inner).call(DefinitionRepository::getRepository));
+        assertSame(outer, DefinitionRepository.getRepository());
+      } finally {
+        executor.shutdown();
+      }
+      return null;
+    });
+    assertNotSame(outer, DefinitionRepository.getRepository());
+  }
+
+  @Test
+  public void shouldPropagateRepositoryToForkJoinTasks() throws Exception {
+    DefinitionRepository repository = DefinitionRepository.createRepository();
+    ForkJoinPool pool = new ForkJoinPool(2);
+    try {
+      ForkJoinTask<DefinitionRepository> task = DefinitionRepository.withRepository(repository)
+          .call(() -> pool.submit(Scope.wrap(DefinitionRepository::getRepository)));
+      assertSame(repository, task.get());
+      //The worker gets its own bindings back, once the task is done.
+      assertNotSame(repository, pool.submit(DefinitionRepository::getRepository).get());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void shouldMapSimpleNamesWithoutResolvingSuppliers() throws Exception {
+    DefinitionRepository repository = DefinitionRepository.createRepository();
+    repository.register(TypeDef.forName("my.pkg.b.Shape"));
+    repository.registerIfAbsent("my.pkg.a.Shape", () -> {
+      throw new IllegalStateException("Supplier should not be resolved");
+    });
+    repository.register(TypeDef.forName("my.pkg.Circle"));
+
+    Map<String, String> references = repository.getReferenceMap();
+    assertEquals("my.pkg.a.Shape", references.get("Shape"));
+    assertEquals("my.pkg.Circle", references.get("Circle"));
+  }
+
+  @Test
+  public void shouldResolveHeaderWithoutResolvingDefinition() throws Exception {
+    DefinitionRepository repository = DefinitionRepository.createRepository();
+    AtomicInteger headers = new AtomicInteger();
+    AtomicInteger definitions = new AtomicInteger();
+    repository.registerIfAbsent("my.pkg.Lazy", () -> {
+      headers.incrementAndGet();
+      return TypeDef.forName("my.pkg.Lazy");
+    }, () -> {
+      definitions.incrementAndGet();
+      return new TypeDefBuilder(TypeDef.forName("my.pkg.Lazy")).withComments("full").build();
+    });
+
+    TypeDef header = repository.getHeader("my.pkg.Lazy");
+    assertSame(header, repository.getHeader("my.pkg.Lazy"));
+    assertTrue(header.getComments().isEmpty());
+    assertEquals(1, headers.get());
+    assertEquals(0, definitions.get());
+
+    TypeDef definition = repository.getDefinition("my.pkg.Lazy");
+    assertEquals(Collections.singletonList("full"), definition.getComments());
+    assertSame(definition, repository.getHeader("my.pkg.Lazy"));
+    assertEquals(1, headers.get());
+    assertEquals(1, definitions.get());
+  }
+}
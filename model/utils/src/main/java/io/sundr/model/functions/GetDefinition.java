@@ -17,14 +17,11 @@
 
 package io.sundr.model.functions;
 
-import static io.sundr.utils.Predicates.after;
-import static io.sundr.utils.Predicates.until;
-
-import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
+import io.sundr.Metrics;
 import io.sundr.model.ClassRef;
 import io.sundr.model.TypeDef;
 import io.sundr.model.TypeDefBuilder;
@@ -41,23 +38,56 @@ public class GetDefinition implements Function<ClassRef, TypeDef> {
   @Override
   public TypeDef apply(ClassRef t) {
     String fullyQualifiedName = t.getFullyQualifiedName();
-    TypeDef def = DefinitionRepository.getRepository().getDefinition(fullyQualifiedName);
+    DefinitionRepository repository = DefinitionRepository.getRepository();
+    TypeDef def = repository.getDefinition(fullyQualifiedName);
     if (def != null) {
       return def;
     }
-    Predicate<String> isLowerCase = w -> Character.isUpperCase(w.charAt(0));
-    Predicate<String> inPackage = until(isLowerCase);
-    Predicate<String> outOfPackage = after(isLowerCase);
+    //Types that are not registered are usually JDK or external types, that are looked up over and over.
+    //So, the definitions created for them are kept for as long as the repository, to be reused.
+    Metrics.increment("definition.unregistered", fullyQualifiedName);
+    return repository.getService(UnregisteredDefinitions.class, r -> new UnregisteredDefinitions()).definitions
+        .computeIfAbsent(fullyQualifiedName, GetDefinition::create);
+  }
 
-    String packageName = Arrays.stream(fullyQualifiedName.split("\\.")).filter(inPackage).collect(Collectors.joining("."));
-    String className = Arrays.stream(fullyQualifiedName.split("\\.")).filter(outOfPackage).collect(Collectors.joining("."));
+  /**
+   * Create a definition from a fully qualified name.
+   * Package segments are expected to start with a lower case letter, while class names with an upper case letter.
+   *
+   * @param fullyQualifiedName the fully qualified name.
+   * @return a definition that only has a name, package and outer type.
+   */
+  static TypeDef create(String fullyQualifiedName) {
+    //Find the first segment that starts with an upper case letter.
+    int classStart = -1;
+    int segmentStart = 0;
+    while (segmentStart < fullyQualifiedName.length()) {
+      if (Character.isUpperCase(fullyQualifiedName.charAt(segmentStart))) {
+        classStart = segmentStart;
+        break;
+      }
+      int dot = fullyQualifiedName.indexOf('.', segmentStart);
+      if (dot < 0) {
+        break;
+      }
+      segmentStart = dot + 1;
+    }
 
-    String ownerClassName = className.contains(".") ? className.substring(0, className.indexOf(".")) : null;
+    String packageName;
+    String className;
+    if (classStart < 0) {
+      packageName = stripTrailingDots(fullyQualifiedName);
+      className = "";
+    } else {
+      packageName = classStart == 0 ? "" : fullyQualifiedName.substring(0, classStart - 1);
+      className = stripTrailingDots(fullyQualifiedName.substring(classStart));
+    }
 
-    if (ownerClassName != null) {
-      className = className.substring(ownerClassName.length() + 1);
+    int ownerEnd = className.indexOf('.');
+    if (ownerEnd >= 0) {
+      String ownerClassName = className.substring(0, ownerEnd);
       return new TypeDefBuilder()
-          .withName(className)
+          .withName(className.substring(ownerEnd + 1))
           .withPackageName(packageName)
           .withOuterTypeName(packageName + "." + ownerClassName)
           .build();
@@ -68,4 +98,16 @@ public class GetDefinition implements Function<ClassRef, TypeDef> {
         .withPackageName(packageName)
         .build();
   }
+
+  private static String stripTrailingDots(String value) {
+    int end = value.length();
+    while (end > 0 && value.charAt(end - 1) == '.') {
+      end--;
+    }
+    return value.substring(0, end);
+  }
+
+  private static final class UnregisteredDefinitions {
+    private final ConcurrentMap<String, TypeDef> definitions = new ConcurrentHashMap<>();
+  }
 }
@@ -22,6 +22,7 @@ import java.util.HashSet;
 import io.sundr.model.ClassRef;
 import io.sundr.model.Node;
 import io.sundr.model.TypeDef;
+import io.sundr.model.utils.TypeHierarchy;
 
 public class TypeAssignable {
 
@@ -55,6 +56,11 @@ public class TypeAssignable {
       return true;
     }
 
+    //The special cases above may also apply to supertypes, which the hierarchy doesn't take into account.
+    if (t.getPackageName() != null && !Node.JAVA_LANG.equals(t.getPackageName())) {
+      return TypeHierarchy.getTypeHierarchy().getSupertypeNames(other).contains(t.getFullyQualifiedName());
+    }
+
     if (visited.contains(other.getFullyQualifiedName())) {
       return false;
     }
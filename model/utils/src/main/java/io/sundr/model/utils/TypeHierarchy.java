@@ -0,0 +1,287 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.model.utils;
+
+import static io.sundr.model.Node.JAVA_LANG_OBJECT;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import io.sundr.model.ClassRef;
+import io.sundr.model.Property;
+import io.sundr.model.TypeDef;
+import io.sundr.model.TypeRef;
+import io.sundr.model.functions.GetDefinition;
+import io.sundr.model.repo.DefinitionRepository;
+
+/**
+ * Memoized queries on the hierarchy of the definitions of a {@link DefinitionRepository}.
+ *
+ * Results are cached for the definitions that are registered in the repository and are dropped when the definition, or
+ * any of its supertypes, is registered again. Types that are not registered (e.g. types that are still being built) are
+ * computed on each call, reusing the cached results of their supertypes where possible.
+ */
+public class TypeHierarchy {
+
+  private final DefinitionRepository repository;
+  private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+  //The names of the cached definitions that need to be dropped, when each supertype is registered again.
+  private final Map<String, Set<String>> dependents = new HashMap<>();
+  private final AtomicLong version = new AtomicLong();
+
+  private TypeHierarchy(DefinitionRepository repository) {
+    this.repository = repository;
+    repository.addListener(this::invalidate);
+  }
+
+  /**
+   * @return the hierarchy of the current {@link DefinitionRepository}.
+   */
+  public static TypeHierarchy getTypeHierarchy() {
+    return of(DefinitionRepository.getRepository());
+  }
+
+  public static TypeHierarchy of(DefinitionRepository repository) {
+    return repository.getService(TypeHierarchy.class, TypeHierarchy::new);
+  }
+
+  /**
+   * Get the fully qualified names of all the types that the specified type extends or implements, directly or indirectly.
+   * Only the headers of the supertypes are needed (see {@link DefinitionRepository#getHeader(String)}), so supertypes
+   * that are resolved lazily are not fully resolved by this method.
+   *
+   * @param type the type.
+   * @return the names of the supertypes.
+   */
+  public Set<String> getSupertypeNames(TypeDef type) {
+    Entry entry = entry(type);
+    if (entry != null) {
+      return entry.supertypeNames;
+    }
+    Set<String> result = new LinkedHashSet<>();
+    for (ClassRef ref : directSupertypes(type)) {
+      if (result.add(ref.getFullyQualifiedName())) {
+        TypeDef definition = repository.getHeader(ref.getFullyQualifiedName());
+        if (definition != null) {
+          result.addAll(getSupertypeNames(definition));
+        }
+      }
+    }
+    return Collections.unmodifiableSet(result);
+  }
+
+  /**
+   * Checks if the other type is the same as, extends or implements the specified type.
+   *
+   * @param type the type.
+   * @param other the candidate subtype.
+   * @return true if the other type is a subtype of the type.
+   */
+  public boolean isAssignable(TypeDef type, TypeDef other) {
+    return type.getFullyQualifiedName().equals(other.getFullyQualifiedName())
+        || getSupertypeNames(other).contains(type.getFullyQualifiedName());
+  }
+
+  /**
+   * Get all the supertypes of the specified type, so that each type is listed after its own supertypes.
+   * Implemented interfaces are listed before the superclass and {@link Object} is not included.
+   *
+   * @param type the type.
+   * @return the linearized supertypes, excluding the type itself.
+   */
+  public List<TypeDef> getSupertypes(TypeDef type) {
+    Entry entry = entry(type);
+    if (entry != null) {
+      List<TypeDef> result = entry.supertypes;
+      if (result == null) {
+        result = computeSupertypes(type);
+        entry.supertypes = result;
+      }
+      return result;
+    }
+    return computeSupertypes(type);
+  }
+
+  /**
+   * Get the type along with all the classes it extends, directly or indirectly.
+   *
+   * @param type the type.
+   * @return the type and its superclasses, or an empty set for {@link Object}.
+   */
+  public Set<TypeDef> getHierarchy(TypeDef type) {
+    Entry entry = entry(type);
+    if (entry != null) {
+      Set<TypeDef> result = entry.hierarchy;
+      if (result == null) {
+        result = computeHierarchy(type);
+        entry.hierarchy = result;
+      }
+      return result;
+    }
+    return computeHierarchy(type);
+  }
+
+  /**
+   * Get all the properties of the type, including the ones of its superclasses.
+   *
+   * @param type the type.
+   * @return the properties.
+   */
+  public List<Property> getAllProperties(TypeDef type) {
+    Entry entry = entry(type);
+    if (entry != null) {
+      List<Property> result = entry.properties;
+      if (result == null) {
+        result = computeAllProperties(type);
+        entry.properties = result;
+      }
+      return result;
+    }
+    return computeAllProperties(type);
+  }
+
+  /**
+   * Get the cached entry of the type, creating it if needed.
+   *
+   * @param type the type.
+   * @return the entry, or null if the type is not the definition that is registered in the repository.
+   */
+  private Entry entry(TypeDef type) {
+    if (type == null || type.getName() == null) {
+      return null;
+    }
+    String name = type.getFullyQualifiedName();
+    Entry entry = entries.get(name);
+    if (entry != null && entry.definition == type) {
+      return entry;
+    }
+    if (repository.getHeader(name) != type) {
+      return null;
+    }
+
+    long expected = version.get();
+    Entry created = new Entry(type, computeSupertypeNames(type));
+    synchronized (this) {
+      //Don't cache entries that may have missed a registration, while being computed.
+      if (version.get() == expected) {
+        entries.put(name, created);
+        for (String supertype : created.supertypeNames) {
+          dependents.computeIfAbsent(supertype, k -> new HashSet<>()).add(name);
+        }
+      }
+    }
+    return created;
+  }
+
+  private synchronized void invalidate(String name) {
+    version.incrementAndGet();
+    entries.remove(name);
+    Set<String> names = dependents.remove(name);
+    if (names != null) {
+      names.forEach(entries::remove);
+    }
+  }
+
+  private Set<String> computeSupertypeNames(TypeDef type) {
+    Set<String> result = new LinkedHashSet<>();
+    Deque<TypeDef> pending = new ArrayDeque<>();
+    pending.add(type);
+    while (!pending.isEmpty()) {
+      for (ClassRef ref : directSupertypes(pending.poll())) {
+        if (result.add(ref.getFullyQualifiedName())) {
+          TypeDef definition = repository.getHeader(ref.getFullyQualifiedName());
+          if (definition != null) {
+            pending.add(definition);
+          }
+        }
+      }
+    }
+    return Collections.unmodifiableSet(result);
+  }
+
+  private List<TypeDef> computeSupertypes(TypeDef type) {
+    List<TypeDef> result = new ArrayList<>();
+    if (type == null || JAVA_LANG_OBJECT.equals(type.getFullyQualifiedName())) {
+      return result;
+    }
+    Set<TypeDef> visited = new HashSet<>();
+    visited.add(type);
+    for (TypeRef ref : directSupertypes(type)) {
+      visitParents(repository.getDefinition(ref), result, visited);
+    }
+    return Collections.unmodifiableList(result);
+  }
+
+  private void visitParents(TypeDef type, List<TypeDef> result, Set<TypeDef> visited) {
+    if (type == null || JAVA_LANG_OBJECT.equals(type.getFullyQualifiedName()) || !visited.add(type)) {
+      return;
+    }
+    for (TypeRef ref : directSupertypes(type)) {
+      visitParents(repository.getDefinition(ref), result, visited);
+    }
+    result.add(type);
+  }
+
+  private Set<TypeDef> computeHierarchy(TypeDef type) {
+    if (Types.OBJECT.equals(type)) {
+      return Collections.emptySet();
+    }
+    Set<TypeDef> hierarchy = new HashSet<>();
+    hierarchy.add(type);
+    hierarchy.addAll(type.getExtendsList().stream().flatMap(s -> getHierarchy(s.map(GetDefinition.FUNCTION)).stream())
+        .collect(Collectors.toSet()));
+    return Collections.unmodifiableSet(hierarchy);
+  }
+
+  private List<Property> computeAllProperties(TypeDef type) {
+    return Collections.unmodifiableList(getHierarchy(type)
+        .stream()
+        .flatMap(h -> h.getProperties().stream())
+        .collect(Collectors.toList()));
+  }
+
+  private static List<ClassRef> directSupertypes(TypeDef type) {
+    List<ClassRef> result = new ArrayList<>(type.getImplementsList());
+    result.addAll(type.getExtendsList());
+    return result;
+  }
+
+  private static final class Entry {
+    private final TypeDef definition;
+    private final Set<String> supertypeNames;
+    private volatile List<TypeDef> supertypes;
+    private volatile Set<TypeDef> hierarchy;
+    private volatile List<Property> properties;
+
+    private Entry(TypeDef definition, Set<String> supertypeNames) {
+      this.definition = definition;
+      this.supertypeNames = supertypeNames;
+    }
+  }
+}
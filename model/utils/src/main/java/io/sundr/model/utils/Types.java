@@ -24,13 +24,11 @@ import java.lang.reflect.TypeVariable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 import javax.lang.model.element.Modifier;
 
@@ -198,6 +196,9 @@ public final class Types {
       }
 
       TypeDef definition = classRef.map(GetDefinition.FUNCTION);
+      if (TypeHierarchy.getTypeHierarchy().getSupertypeNames(definition).contains(targetType.getFullyQualifiedName())) {
+        return true;
+      }
       for (TypeRef i : definition.getImplementsList()) {
         if (function.apply(i)) {
           return true;
@@ -604,10 +605,7 @@ public final class Types {
    * @return A list with all properties.
    */
   public static List<Property> allProperties(TypeDef typeDef) {
-    return unrollHierarchy(typeDef)
-        .stream()
-        .flatMap(h -> h.getProperties().stream())
-        .collect(Collectors.toList());
+    return TypeHierarchy.getTypeHierarchy().getAllProperties(typeDef);
   }
 
   /**
@@ -617,14 +615,7 @@ public final class Types {
    * @return A set that contains all the hierarching (including the specified type).
    */
   public static Set<TypeDef> unrollHierarchy(TypeDef typeDef) {
-    if (OBJECT.equals(typeDef)) {
-      return new HashSet<>();
-    }
-    Set<TypeDef> hierarchy = new HashSet<>();
-    hierarchy.add(typeDef);
-    hierarchy.addAll(typeDef.getExtendsList().stream().flatMap(s -> unrollHierarchy(s.map(GetDefinition.FUNCTION)).stream())
-        .collect(Collectors.toSet()));
-    return hierarchy;
+    return TypeHierarchy.getTypeHierarchy().getHierarchy(typeDef);
   }
 
   /***
@@ -646,7 +637,11 @@ public final class Types {
   }
 
   public static void visitParents(TypeDef type, List<TypeDef> types) {
-    visitParents(type, types, new ArrayList<>());
+    if (type == null || JAVA_LANG_OBJECT.equals(type.getFullyQualifiedName())) {
+      return;
+    }
+    types.addAll(TypeHierarchy.getTypeHierarchy().getSupertypes(type));
+    types.add(type);
   }
 
   public static void visitParents(TypeDef type, List<TypeDef> types, List<TypeDef> visited) {
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.model.functions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import io.sundr.model.ClassRefBuilder;
+import io.sundr.model.TypeDef;
+import io.sundr.model.repo.DefinitionRepository;
+
+public class GetDefinitionTest {
+
+  @Test
+  public void testCreate() {
+    assertDefinition("java.util", "List", null, GetDefinition.create("java.util.List"));
+    assertDefinition("java.util", "Entry", "java.util.Map", GetDefinition.create("java.util.Map.Entry"));
+    assertDefinition("", "Simple", null, GetDefinition.create("Simple"));
+    assertDefinition("my.pkg", "", null, GetDefinition.create("my.pkg"));
+    assertDefinition("my.pkg", "Inner.Deep", "my.pkg.Outer", GetDefinition.create("my.pkg.Outer.Inner.Deep"));
+  }
+
+  @Test
+  public void testUnregisteredDefinitionsAreReused() {
+    DefinitionRepository.withNewRepository().call(() -> {
+      TypeDef first = GetDefinition.of(new ClassRefBuilder().withFullyQualifiedName("java.util.List").build());
+      TypeDef second = GetDefinition.of(new ClassRefBuilder().withFullyQualifiedName("java.util.List").build());
+      assertSame(first, second);
+      return null;
+    });
+  }
+
+  private static void assertDefinition(String packageName, String name, String outerTypeName, TypeDef actual) {
+    assertEquals(packageName, actual.getPackageName());
+    assertEquals(name, actual.getName());
+    if (outerTypeName == null) {
+      assertNull(actual.getOuterTypeName());
+    } else {
+      assertEquals(outerTypeName, actual.getOuterTypeName());
+    }
+  }
+}
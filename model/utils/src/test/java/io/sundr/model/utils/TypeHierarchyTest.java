@@ -0,0 +1,81 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.model.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import io.sundr.model.Kind;
+import io.sundr.model.TypeDef;
+import io.sundr.model.TypeDefBuilder;
+import io.sundr.model.repo.DefinitionRepository;
+
+public class TypeHierarchyTest {
+
+  private final TypeDef named = type("Named", Kind.INTERFACE).build();
+  private final TypeDef base = type("Base", Kind.CLASS).addNewProperty().withName("id").withTypeRef(Types.STRING_REF)
+      .endProperty().build();
+  private final TypeDef leaf = type("Leaf", Kind.CLASS).addToExtendsList(base.toInternalReference())
+      .addToImplementsList(named.toInternalReference()).addNewProperty().withName("name").withTypeRef(Types.STRING_REF)
+      .endProperty().build();
+
+  @Test
+  public void testHierarchy() {
+    DefinitionRepository.withNewRepository().apply(repository -> {
+      Arrays.asList(named, base, leaf).forEach(repository::register);
+      TypeHierarchy hierarchy = TypeHierarchy.of(repository);
+
+      assertEquals(Arrays.asList(named, base), hierarchy.getSupertypes(leaf));
+      assertTrue(hierarchy.isAssignable(named, leaf));
+      assertTrue(hierarchy.isAssignable(base, leaf));
+      assertFalse(hierarchy.isAssignable(leaf, base));
+      assertEquals(2, hierarchy.getAllProperties(leaf).size());
+      //Cached results are reused.
+      assertTrue(hierarchy.getSupertypes(leaf) == hierarchy.getSupertypes(leaf));
+      return null;
+    });
+  }
+
+  @Test
+  public void testRegisteringSupertypeInvalidatesCache() {
+    DefinitionRepository.withNewRepository().apply(repository -> {
+      Arrays.asList(named, base, leaf).forEach(repository::register);
+      TypeHierarchy hierarchy = TypeHierarchy.of(repository);
+      assertEquals(2, hierarchy.getAllProperties(leaf).size());
+
+      TypeDef root = type("Root", Kind.CLASS).addNewProperty().withName("version").withTypeRef(Types.STRING_REF)
+          .endProperty().build();
+      repository.register(root);
+      repository.register(new TypeDefBuilder(base).addToExtendsList(root.toInternalReference()).build());
+
+      assertTrue(hierarchy.getSupertypeNames(leaf).contains(root.getFullyQualifiedName()));
+      assertEquals(Arrays.asList("id", "name", "version"), hierarchy.getAllProperties(leaf).stream()
+          .map(p -> p.getName()).sorted().collect(Collectors.toList()));
+      return null;
+    });
+  }
+
+  private static TypeDefBuilder type(String name, Kind kind) {
+    return new TypeDefBuilder().withKind(kind).withPackageName("io.sundr.test").withName(name);
+  }
+}
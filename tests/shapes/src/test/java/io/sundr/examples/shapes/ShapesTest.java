@@ -16,14 +16,27 @@
 
 package io.sundr.examples.shapes;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Assert;
 import org.junit.Test;
 
+import io.sundr.builder.BaseFluent;
 import io.sundr.builder.PathAwareTypedVisitor;
 import io.sundr.builder.TypedVisitor;
+import io.sundr.builder.VisitableBuilder;
 import io.sundr.builder.Visitor;
 import io.sundr.examples.shapes.v1.Circle;
 import io.sundr.examples.shapes.v1.CircleBuilder;
@@ -58,6 +71,21 @@ public class ShapesTest {
     Assert.assertEquals(20, circle3.getRadius());
   }
 
+  @Test
+  public void testEqualBuildablesHaveEqualHashCodes() {
+    MyPoint point = new MyPointBuilder().withX(1).withY(2).withLabel("a").build();
+    MyPoint same = new MyPointBuilder(point).build();
+    MyPoint other = new MyPointBuilder(point).withLabel("b").build();
+    Assert.assertEquals(point, same);
+    Assert.assertEquals(point.hashCode(), same.hashCode());
+    Assert.assertEquals(point.hashCode(), point.hashCode());
+    Assert.assertNotEquals(point, other);
+
+    MyPointBuilder builder = new MyPointBuilder(point);
+    Assert.assertEquals(builder, new MyPointBuilder(point));
+    Assert.assertEquals(builder.hashCode(), new MyPointBuilder(point).hashCode());
+  }
+
   @Test
   public void testVisitor() {
     Canvas canvas = new CanvasBuilder()
@@ -94,6 +122,162 @@ public class ShapesTest {
     Assert.assertEquals(110, ((Circle) canvas.getShapes().get(0)).getRadius());
   }
 
+  @Test
+  public void testPathAwareVisitorPath() {
+    CanvasBuilder canvasBuilder = new CanvasBuilder()
+        .addNewCircleShape(0, 0, 10)
+        .addNewCircleShape(0, 0, 20);
+
+    List<Object> parents = new ArrayList<>();
+    List<Integer> depths = new ArrayList<>();
+    PathAwareTypedVisitor<CircleBuilder<Integer>, CanvasBuilder> visitor = new PathAwareTypedVisitor<CircleBuilder<Integer>, CanvasBuilder>() {
+      @Override
+      public void visit(CircleBuilder<Integer> builder) {
+        parents.add(getParent());
+        depths.add(getPath().size());
+      }
+    };
+    canvasBuilder.accept(visitor);
+
+    Assert.assertEquals(Arrays.asList(canvasBuilder, canvasBuilder), parents);
+    Assert.assertEquals(Arrays.asList(2, 2), depths);
+    Assert.assertTrue(visitor.getPath().isEmpty());
+  }
+
+  @Test
+  public void testPathAwareVisitorNext() {
+    CanvasBuilder canvasBuilder = new CanvasBuilder()
+        .addNewCircleShape(0, 0, 10);
+
+    Object root = new Object();
+    List<List<Object>> paths = new ArrayList<>();
+    PathAwareTypedVisitor<CircleBuilder<Integer>, CanvasBuilder> visitor = new PathAwareTypedVisitor<CircleBuilder<Integer>, CanvasBuilder>() {
+      @Override
+      public void visit(CircleBuilder<Integer> builder) {
+        paths.add(new ArrayList<>(getPath()));
+      }
+    };
+    canvasBuilder.accept(visitor.next(root));
+
+    Assert.assertEquals(1, paths.size());
+    Assert.assertEquals(Arrays.asList(root, canvasBuilder), paths.get(0).subList(0, 2));
+    Assert.assertEquals(3, paths.get(0).size());
+    Assert.assertTrue(visitor.getPath().isEmpty());
+  }
+
+  @Test
+  public void testPathAwareVisitorPathIsSnapshot() {
+    CanvasBuilder canvasBuilder = new CanvasBuilder()
+        .addNewCircleShape(0, 0, 10)
+        .addNewCircleShape(0, 0, 20);
+
+    List<List<Object>> paths = new ArrayList<>();
+    PathAwareTypedVisitor<CircleBuilder<Integer>, CanvasBuilder> visitor = new PathAwareTypedVisitor<CircleBuilder<Integer>, CanvasBuilder>() {
+      @Override
+      public void visit(CircleBuilder<Integer> builder) {
+        paths.add(getPath());
+      }
+    };
+    canvasBuilder.accept(visitor);
+
+    Assert.assertEquals(2, paths.size());
+    for (List<Object> path : paths) {
+      Assert.assertEquals(2, path.size());
+      Assert.assertSame(canvasBuilder, path.get(0));
+    }
+    Assert.assertNotSame(paths.get(0).get(1), paths.get(1).get(1));
+  }
+
+  @Test
+  public void testPathAwareVisitorReentrant() {
+    CanvasBuilder outer = new CanvasBuilder().addNewCircleShape(0, 0, 10).addNewCircleShape(0, 0, 20);
+    CanvasBuilder inner = new CanvasBuilder().addNewCircleShape(0, 0, 30);
+
+    List<Object> parents = new ArrayList<>();
+    PathAwareTypedVisitor<CircleBuilder<Integer>, CanvasBuilder> visitor = new PathAwareTypedVisitor<CircleBuilder<Integer>, CanvasBuilder>() {
+      private boolean nested;
+
+      @Override
+      public void visit(CircleBuilder<Integer> builder) {
+        parents.add(getParent());
+        if (!nested) {
+          nested = true;
+          inner.accept(this);
+        }
+      }
+    };
+    outer.accept(visitor);
+
+    Assert.assertEquals(Arrays.asList(outer, inner, outer), parents);
+    Assert.assertTrue(visitor.getPath().isEmpty());
+  }
+
+  @Test
+  public void testPathAwareVisitorSharedAcrossThreads() throws Exception {
+    ThreadLocal<CanvasBuilder> roots = new ThreadLocal<>();
+    AtomicInteger visits = new AtomicInteger();
+    AtomicInteger mismatches = new AtomicInteger();
+    PathAwareTypedVisitor<CircleBuilder<Integer>, CanvasBuilder> visitor = new PathAwareTypedVisitor<CircleBuilder<Integer>, CanvasBuilder>() {
+      @Override
+      public void visit(CircleBuilder<Integer> builder) {
+        visits.incrementAndGet();
+        if (getParent() != roots.get() || getPath().size() != 2) {
+          mismatches.incrementAndGet();
+        }
+      }
+    };
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        futures.add(executor.submit(() -> {
+          CanvasBuilder canvas = new CanvasBuilder();
+          for (int j = 0; j < 10; j++) {
+            canvas.addNewCircleShape(j, j, 10);
+          }
+          roots.set(canvas);
+          for (int j = 0; j < 100; j++) {
+            canvas.accept(visitor);
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    Assert.assertEquals(4 * 100 * 10, visits.get());
+    Assert.assertEquals(0, mismatches.get());
+  }
+
+  @Test
+  public void testParallelFallsBackForPathAwareVisitors() {
+    CanvasBuilder canvasBuilder = new CanvasBuilder()
+        .addNewCircleShape(0, 0, 10)
+        .addNewCircleShape(0, 0, 20);
+
+    List<Object> parents = new ArrayList<>();
+    List<Thread> threads = new ArrayList<>();
+    canvasBuilder.acceptParallel(new PathAwareTypedVisitor<CircleBuilder<Integer>, CanvasBuilder>() {
+      @Override
+      public void visit(CircleBuilder<Integer> builder) {
+        parents.add(getParent());
+        threads.add(Thread.currentThread());
+      }
+
+      @Override
+      public boolean isThreadSafe() {
+        return true;
+      }
+    });
+
+    Assert.assertEquals(Arrays.asList(canvasBuilder, canvasBuilder), parents);
+    Assert.assertEquals(Arrays.asList(Thread.currentThread(), Thread.currentThread()), threads);
+  }
+
   @Test
   public void testAddToWithVisitors() {
     CanvasBuilder canvasBuilder = new CanvasBuilder();
@@ -138,6 +322,56 @@ public class ShapesTest {
     Assert.assertEquals(110, ((Circle) canvas.getShapes().get(0)).getRadius());
   }
 
+  @Test
+  public void testParallelVisitor() {
+    CanvasBuilder builder = new CanvasBuilder();
+    for (int i = 0; i < 100; i++) {
+      builder.addNewCircleShape(i, i, 10);
+    }
+
+    Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    ForkJoinPool pool = new ForkJoinPool(4);
+    Canvas canvas;
+    try {
+      canvas = builder.acceptParallel(pool, BaseFluent.DEFAULT_PARALLEL_THRESHOLD, new TypedVisitor<CircleBuilder<Integer>>() {
+        @Override
+        public void visit(CircleBuilder<Integer> builder) {
+          threads.add(Thread.currentThread());
+          builder.withRadius(100 + builder.getRadius());
+        }
+
+        @Override
+        public boolean isThreadSafe() {
+          return true;
+        }
+      }).build();
+    } finally {
+      pool.shutdown();
+    }
+
+    Assert.assertEquals(100, canvas.getShapes().size());
+    for (Shape shape : canvas.getShapes()) {
+      Assert.assertEquals(110, ((Circle) shape).getRadius());
+    }
+    Assert.assertFalse(threads.isEmpty());
+    for (Thread thread : threads) {
+      Assert.assertTrue(thread instanceof ForkJoinWorkerThread);
+      Assert.assertSame(pool, ((ForkJoinWorkerThread) thread).getPool());
+    }
+  }
+
+  @Test
+  public void testBuilderOfUsesRegistry() {
+    Circle<Integer> circle = new CircleBuilder<Integer>().withX(0).withY(0).withRadius(10).build();
+    long reflective = BaseFluent.getReflectiveBuilderCount();
+
+    VisitableBuilder<Circle<Integer>, ?> builder = BaseFluent.builderOf(circle);
+
+    Assert.assertTrue(builder instanceof CircleBuilder);
+    Assert.assertEquals(10, (int) builder.build().getRadius());
+    Assert.assertEquals(reflective, BaseFluent.getReflectiveBuilderCount());
+  }
+
   @Test
   public void testRemoveFrom() {
     Canvas canvas = new CanvasBuilder()